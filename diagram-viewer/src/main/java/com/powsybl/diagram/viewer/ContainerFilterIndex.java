@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.diagram.viewer.MainViewController.ComponentFilterType;
+import com.powsybl.iidm.network.*;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Per container data needed by the substations tree filters, computed once per network so that filtering only
+ * consists in bit tests and string comparisons.
+ * Component types contained in a voltage level or substation are stored as a bitset of {@link ComponentFilterType}
+ * ordinals. Ids and names are indexed by trigrams, so that the containers matching a filter text are found without
+ * going through all of them.
+ */
+public final class ContainerFilterIndex {
+
+    private record Entry(long componentTypes, Country country, String lowerCaseId, String lowerCaseNameOrId) {
+    }
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Entry> entries;
+    private final String[] containerIds;
+    private final Map<String, Postings> idGrams;
+    private final Map<String, Postings> nameGrams;
+
+    private ContainerFilterIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+        this.containerIds = entries.keySet().toArray(new String[0]);
+        this.idGrams = buildGramIndex(Entry::lowerCaseId);
+        this.nameGrams = buildGramIndex(Entry::lowerCaseNameOrId);
+    }
+
+    /**
+     * Sorted list of indexes in {@link #containerIds}
+     */
+    private static final class Postings {
+        private int[] indexes = new int[2];
+        private int size;
+
+        private void add(int index) {
+            if (size > 0 && indexes[size - 1] == index) {
+                return; // gram appearing several times in the same string
+            }
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+            indexes[size++] = index;
+        }
+    }
+
+    private Map<String, Postings> buildGramIndex(Function<Entry, String> indexedString) {
+        Map<String, Postings> grams = new HashMap<>();
+        for (int i = 0; i < containerIds.length; i++) {
+            String s = indexedString.apply(entries.get(containerIds[i]));
+            for (int j = 0; j + GRAM_LENGTH <= s.length(); j++) {
+                grams.computeIfAbsent(s.substring(j, j + GRAM_LENGTH), g -> new Postings()).add(i);
+            }
+        }
+        return grams;
+    }
+
+    public static ContainerFilterIndex build(Network network) {
+        Map<String, Entry> entries = new HashMap<>();
+        network.getVoltageLevelStream().forEach(v -> entries.put(v.getId(), new Entry(computeComponentTypes(v),
+                v.getSubstation().flatMap(Substation::getCountry).orElse(null),
+                toLowerCase(v.getId()), toLowerCase(v.getNameOrId()))));
+        network.getSubstationStream().forEach(s -> entries.put(s.getId(), new Entry(
+                s.getVoltageLevelStream().mapToLong(v -> entries.get(v.getId()).componentTypes()).reduce(0L, (t1, t2) -> t1 | t2),
+                s.getCountry().orElse(null),
+                toLowerCase(s.getId()), toLowerCase(s.getNameOrId()))));
+        return new ContainerFilterIndex(entries);
+    }
+
+    static String toLowerCase(String s) {
+        return s.toLowerCase(Locale.getDefault());
+    }
+
+    private static long bit(ComponentFilterType type) {
+        return 1L << type.ordinal();
+    }
+
+    private static long computeComponentTypes(VoltageLevel v) {
+        long types = bit(ComponentFilterType.ALL);
+        if (v.getSwitchCount() != 0) {
+            types |= bit(ComponentFilterType.SWITCH);
+        }
+        if (v.getBoundaryLineStream(BoundaryLineFilter.PAIRED).findFirst().isPresent()) {
+            types |= bit(ComponentFilterType.TIE_LINE);
+        }
+        if (v.getBoundaryLineStream(BoundaryLineFilter.UNPAIRED).findFirst().isPresent()) {
+            types |= bit(ComponentFilterType.BOUNDARY_LINE);
+        }
+        return types | v.getConnectableStream().mapToLong(ContainerFilterIndex::computeConnectableComponentTypes).reduce(0L, (t1, t2) -> t1 | t2);
+    }
+
+    private static long computeConnectableComponentTypes(Connectable<?> connectable) {
+        long types = 0L;
+        for (ComponentFilterType type : ComponentFilterType.values()) {
+            boolean contained = switch (type) {
+                case ALL, SWITCH, TIE_LINE, BOUNDARY_LINE -> false; // computed at voltage level
+                case HVDC_LINE -> connectable instanceof HvdcConverterStation<?> station && station.getHvdcLine() != null;
+                case PHASE_SHIFT_TRANSFORMER -> connectable instanceof TwoWindingsTransformer t && t.hasPhaseTapChanger();
+                case RATIO_TAP_CHANGER_TRANSFORMER -> connectable instanceof TwoWindingsTransformer t && t.hasRatioTapChanger();
+                default -> type.getConnectableClass().isInstance(connectable);
+            };
+            if (contained) {
+                types |= bit(type);
+            }
+        }
+        return types;
+    }
+
+    public boolean containsComponentType(Container<?> container, ComponentFilterType type) {
+        if (container.getContainerType() == ContainerType.NETWORK) {
+            return true;
+        }
+        Entry entry = entries.get(container.getId());
+        return entry != null && (entry.componentTypes() & bit(type)) != 0;
+    }
+
+    public boolean locatedIn(Container<?> container, Country country) {
+        if (country == null || container.getContainerType() == ContainerType.NETWORK) {
+            return true;
+        }
+        Entry entry = entries.get(container.getId());
+        return entry != null && entry.country() == country;
+    }
+
+    /**
+     * @param lowerCaseFilter the filter text, already lower-cased with {@link #toLowerCase}
+     * @param useName whether the filter applies to the name (or id if no name) or to the id
+     * @return the ids of the voltage levels and substations matching the given filter
+     */
+    public Set<String> findMatches(String lowerCaseFilter, boolean useName) {
+        Function<Entry, String> indexedString = useName ? Entry::lowerCaseNameOrId : Entry::lowerCaseId;
+        Set<String> matches = new HashSet<>();
+        if (lowerCaseFilter.length() < GRAM_LENGTH) {
+            // Too short to use the grams, but strings are already lower-cased
+            for (String id : containerIds) {
+                if (indexedString.apply(entries.get(id)).contains(lowerCaseFilter)) {
+                    matches.add(id);
+                }
+            }
+            return matches;
+        }
+
+        // Candidates are the containers having the rarest gram of the filter, then checked on the full filter
+        Map<String, Postings> grams = useName ? nameGrams : idGrams;
+        Postings candidates = null;
+        for (int j = 0; j + GRAM_LENGTH <= lowerCaseFilter.length(); j++) {
+            Postings postings = grams.get(lowerCaseFilter.substring(j, j + GRAM_LENGTH));
+            if (postings == null) {
+                return matches;
+            }
+            if (candidates == null || postings.size < candidates.size) {
+                candidates = postings;
+            }
+        }
+        for (int k = 0; k < candidates.size; k++) {
+            String id = containerIds[candidates.indexes[k]];
+            if (indexedString.apply(entries.get(id)).contains(lowerCaseFilter)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.diagram.viewer.common.DiagramExporter;
+import com.powsybl.diagram.viewer.nad.NetworkAreaDiagramController;
+import com.powsybl.iidm.network.Container;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.nad.NadParameters;
+import com.powsybl.nad.NetworkAreaDiagram;
+import com.powsybl.sld.SingleLineDiagram;
+import com.powsybl.sld.SldParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Headless batch export of diagrams, with the default diagram parameters:
+ * <pre>
+ * DiagramExportTool &lt;case file&gt; &lt;output directory&gt; [sld|nad] [container id...]
+ * </pre>
+ * All the voltage levels are exported if no container is given. Running the tool again on the same output directory
+ * resumes the export, already exported diagrams being skipped.
+ * The exit status is {@value #EXIT_OK} if all the diagrams are exported, {@value #EXIT_FAILURES} if some failed and
+ * {@value #EXIT_USAGE} if the arguments are invalid.
+ */
+public final class DiagramExportTool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiagramExportTool.class);
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILURES = 1;
+    public static final int EXIT_USAGE = 2;
+
+    /**
+     * Progress is logged every time this percentage of the diagrams is done
+     */
+    private static final int PROGRESS_LOG_PERCENT = 5;
+
+    /**
+     * Depth of the network area diagrams around the exported containers
+     */
+    private static final int NAD_DEPTH = 1;
+
+    private DiagramExportTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int status = run(args);
+        if (status != EXIT_OK) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs the export with the given command line arguments
+     *
+     * @return the exit status
+     */
+    public static int run(String... args) throws IOException {
+        if (args.length < 2) {
+            LOGGER.error("Usage: DiagramExportTool <case file> <output directory> [sld|nad] [container id...]");
+            return EXIT_USAGE;
+        }
+        Path caseFile = Path.of(args[0]);
+        Path directory = Path.of(args[1]);
+        boolean nad = args.length > 2 && args[2].equalsIgnoreCase("nad");
+        int firstIdIndex = args.length > 2 && (nad || args[2].equalsIgnoreCase("sld")) ? 3 : 2;
+
+        Network network = Network.read(caseFile);
+        List<String> containerIds = args.length > firstIdIndex
+                ? Arrays.asList(args).subList(firstIdIndex, args.length)
+                : network.getVoltageLevelStream().map(Identifiable::getId).toList();
+
+        DiagramExporter.Drawer drawer = nad ? createNadDrawer(network) : createSldDrawer(network);
+        int logStep = Math.max(1, containerIds.size() * PROGRESS_LOG_PERCENT / 100);
+        DiagramExporter.Summary summary = new DiagramExporter(directory, Runtime.getRuntime().availableProcessors())
+                .export(containerIds, drawer, (doneCount, totalCount, containerId) -> {
+                    if (doneCount % logStep == 0 || doneCount == totalCount) {
+                        LOGGER.info("Exported {}/{} diagrams", doneCount, totalCount);
+                    }
+                }, () -> false);
+
+        LOGGER.info("Export to {}: {} exported, {} skipped, {} failed", directory, summary.exportedCount(),
+                summary.skippedCount(), summary.failures().size());
+        if (!summary.failures().isEmpty()) {
+            LOGGER.error("Failed diagrams are listed in {}", directory.resolve(DiagramExporter.FAILURES_FILE_NAME));
+            return EXIT_FAILURES;
+        }
+        return EXIT_OK;
+    }
+
+    private static DiagramExporter.Drawer createSldDrawer(Network network) {
+        SldParameters sldParameters = new SldParameters();
+        return (containerId, svgWriter, metadataWriter) -> SingleLineDiagram.draw(network, containerId, svgWriter, metadataWriter, sldParameters);
+    }
+
+    private static DiagramExporter.Drawer createNadDrawer(Network network) {
+        NadParameters nadParameters = new NadParameters();
+        return (containerId, svgWriter, metadataWriter) -> {
+            if (!(network.getIdentifiable(containerId) instanceof Container<?> container)) {
+                throw new PowsyblException("Container '" + containerId + "' not found");
+            }
+            NetworkAreaDiagram.draw(network, svgWriter, metadataWriter, nadParameters,
+                    NetworkAreaDiagramController.getVoltageLevelFilter(network, NAD_DEPTH, container));
+        };
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.commons.report.ReportResourceBundle;
+
+/**
+ * Messages of the report nodes created by the diagram viewer.
+ */
+public final class DiagramViewerReportResourceBundle implements ReportResourceBundle {
+
+    public static final String BASE_NAME = "com.powsybl.diagram.viewer.reports";
+
+    @Override
+    public String getBaseName() {
+        return BASE_NAME;
+    }
+}
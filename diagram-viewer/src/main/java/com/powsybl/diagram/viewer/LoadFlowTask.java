@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.computation.local.LocalComputationManager;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.loadflow.LoadFlow;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Load flow run in background on the working variant of a network at task creation.
+ * The message gives the elapsed time while running, then the status and the number of iterations of each
+ * synchronous component once done.
+ * The load flow engine runs on a thread dedicated to the task. {@link #requestCancel} interrupts it, but the task
+ * only ends, as cancelled, once the engine has actually stopped: until then the engine may still write to the network.
+ */
+public class LoadFlowTask extends Task<LoadFlowResult> {
+
+    public enum Mode {
+        AC, AC_WARM_START, DC_PREVIEW;
+
+        @Override
+        public String toString() {
+            return switch (this) {
+                case AC -> "AC";
+                case AC_WARM_START -> "AC, warm start";
+                case DC_PREVIEW -> "DC preview";
+            };
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadFlowTask.class);
+
+    private static final long PROGRESS_REFRESH_PERIOD_MS = 200;
+
+    private final Network network;
+
+    private final String variantId;
+
+    private final Mode mode;
+
+    private final boolean distributedSlack;
+
+    private volatile boolean cancelRequested;
+
+    /**
+     * Load flow on the current working variant of the given network. Parameters are created when the task runs, as
+     * choosing the voltage initialization of a warm start reads the whole network.
+     */
+    public LoadFlowTask(Network network, Mode mode, boolean distributedSlack) {
+        this.network = network;
+        this.variantId = network.getVariantManager().getWorkingVariantId();
+        this.mode = mode;
+        this.distributedSlack = distributedSlack;
+    }
+
+    public Network getNetwork() {
+        return network;
+    }
+
+    public String getVariantId() {
+        return variantId;
+    }
+
+    /**
+     * Parameters of the given mode, based on the configured parameters:
+     * <ul>
+     *     <li>a warm start initializes the voltages with the previous solution, if any, so that a load flow after a
+     *     few switch operations only needs a few iterations,</li>
+     *     <li>a DC preview gives approximate active power flows almost instantly, voltages being left unchanged.</li>
+     * </ul>
+     * To be called outside the JavaFX application thread, the warm start reading the voltages of all the buses.
+     */
+    static LoadFlowParameters createParameters(Mode mode, boolean distributedSlack, Network network) {
+        LoadFlowParameters parameters = LoadFlowParameters.load()
+                .setDistributedSlack(distributedSlack);
+        switch (mode) {
+            case AC -> parameters.setDc(false);
+            case AC_WARM_START -> parameters.setDc(false)
+                    .setVoltageInitMode(hasVoltages(network)
+                            ? LoadFlowParameters.VoltageInitMode.PREVIOUS_VALUES
+                            : LoadFlowParameters.VoltageInitMode.UNIFORM_VALUES);
+            case DC_PREVIEW -> parameters.setDc(true);
+        }
+        return parameters;
+    }
+
+    /**
+     * @return true if the network holds a voltage solution to start from
+     */
+    private static boolean hasVoltages(Network network) {
+        return network.getBusView().getBusStream().anyMatch(bus -> !Double.isNaN(bus.getV()) && !Double.isNaN(bus.getAngle()));
+    }
+
+    /**
+     * Interrupts the load flow engine. The task goes on running until the engine has stopped, then ends as cancelled.
+     */
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    @Override
+    protected LoadFlowResult call() throws ExecutionException, InterruptedException {
+        long startNanos = System.nanoTime();
+        // Engine run on its own thread, so that its actual end can be awaited once cancelled
+        ExecutorService engineExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-flow-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (ComputationManager computationManager = new LocalComputationManager(engineExecutor)) {
+            LoadFlowParameters parameters = createParameters(mode, distributedSlack, network);
+            CompletableFuture<LoadFlowResult> future = LoadFlow.runAsync(network, variantId,
+                    computationManager, parameters, ReportNode.NO_OP);
+            while (!cancelRequested) {
+                try {
+                    LoadFlowResult result = future.get(PROGRESS_REFRESH_PERIOD_MS, TimeUnit.MILLISECONDS);
+                    String summary = summarize(result, System.nanoTime() - startNanos);
+                    LOGGER.info("Load flow on {}: {}", network.getId(), summary);
+                    updateMessage(summary);
+                    return result;
+                } catch (TimeoutException e) {
+                    updateMessage(String.format("Load flow running (%.1f s)", (System.nanoTime() - startNanos) / 1e9));
+                } catch (InterruptedException e) {
+                    future.cancel(true);
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+
+            future.cancel(true);
+            engineExecutor.shutdown();
+            long cancelStartNanos = System.nanoTime();
+            while (!engineExecutor.awaitTermination(PROGRESS_REFRESH_PERIOD_MS, TimeUnit.MILLISECONDS)) {
+                updateMessage(String.format("Cancelling load flow, waiting for the engine to stop (%.1f s)",
+                        (System.nanoTime() - cancelStartNanos) / 1e9));
+            }
+            LOGGER.info("Load flow on {} cancelled", network.getId());
+            updateMessage("Load flow cancelled");
+            cancel(false);
+            return null;
+        } finally {
+            engineExecutor.shutdownNow();
+        }
+    }
+
+    private static String summarize(LoadFlowResult result, long durationNanos) {
+        String components = result.getComponentResults().stream()
+                .map(c -> c.getStatus() + " in " + c.getIterationCount() + " iterations")
+                .collect(Collectors.joining(", "));
+        return String.format("Load flow %s (%.1f s)%s", result.isFullyConverged() ? "converged" : "not fully converged",
+                durationNanos / 1e9, components.isEmpty() ? "" : ": " + components);
+    }
+}
@@ -10,15 +10,21 @@ package com.powsybl.diagram.viewer;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.commons.json.JsonUtil;
-import com.powsybl.computation.local.LocalComputationManager;
+import com.powsybl.diagram.viewer.common.DiagramExporter;
+import com.powsybl.diagram.viewer.common.MemoryFootprint;
+import com.powsybl.diagram.viewer.common.NetworkChangeTracker;
 import com.powsybl.diagram.viewer.nad.NetworkAreaDiagramViewController;
-import com.powsybl.diagram.viewer.sld.SingleLineDiagramJsHandler;
 import com.powsybl.diagram.viewer.sld.SingleLineDiagramViewController;
 import com.powsybl.iidm.network.*;
 import com.powsybl.iidm.network.test.*;
-import com.powsybl.loadflow.LoadFlow;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
@@ -26,11 +32,18 @@ import javafx.concurrent.Service;
 import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.CheckBoxTreeCell;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.HBox;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.Duration;
 import javafx.util.StringConverter;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -42,9 +55,13 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.prefs.Preferences;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Florian Dupuy <florian.dupuy at rte-france.com>
@@ -80,6 +97,10 @@ public class MainViewController {
             this.description = description;
         }
 
+        public Class<? extends Connectable<?>> getConnectableClass() {
+            return connectableClass;
+        }
+
         @Override
         public String toString() {
             return description;
@@ -92,11 +113,72 @@ public class MainViewController {
     public static final String CASE_PATH_PROPERTY = "casePath";
     public static final String CASE_FOLDER_PROPERTY = "caseFolder";
 
+    /**
+     * Delay without parameter change after which the diagrams are re-rendered
+     */
+    private static final Duration PARAMETERS_CHANGE_DEBOUNCE_DELAY = Duration.millis(250);
+
+    /**
+     * Above this number of substations the tree is initially collapsed, so that voltage level items are only created
+     * for the substations which get expanded
+     */
+    private static final int EXPANDED_TREE_MAX_SUBSTATIONS = 500;
+
+    /**
+     * Number of tree items created in background before being added to the tree
+     */
+    private static final int TREE_ITEMS_CHUNK_SIZE = 1000;
+
+    /**
+     * Refresh period of the network import progress
+     */
+    private static final Duration IMPORT_PROGRESS_REFRESH_PERIOD = Duration.millis(200);
+
+    /**
+     * Number of diagrams exported at the same time
+     */
+    private static final int EXPORT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private static final String WHAT_IF_VARIANT_PREFIX = "what-if-";
+
     private final Preferences preferences = Preferences.userNodeForPackage(DiagramViewer.class);
     private final ObjectMapper objectMapper = JsonUtil.createObjectMapper();
 
     private Service<Network> networkService;
 
+    private NetworkImportTask networkImportTask;
+
+    /**
+     * Incremented at each network load, so that the result of a superseded load is never used
+     */
+    private long networkLoadGeneration;
+
+    private final NetworkSnapshotCache networkSnapshotCache = NetworkSnapshotCache.createDefault();
+
+    private final Timeline importProgressTimeline = new Timeline();
+
+    private Stage memoryStage;
+
+    private MemoryViewController memoryViewController;
+
+    private Service<Void> treeItemsService;
+
+    private Task<DiagramExporter.Summary> exportTask;
+
+    /**
+     * Exports still reading the network, a cancelled export included until its drawings in progress end
+     */
+    private int runningExportCount;
+
+    private LoadFlowTask loadFlowTask;
+
+    /**
+     * Whether switches were operated during the running load flow, another one being then needed
+     */
+    private boolean loadFlowPending;
+
+    private final ObjectProperty<ContainerFilterIndex> containerFilterIndex = new SimpleObjectProperty<>();
+
     @FXML
     public TextField filePath;
     @FXML
@@ -120,6 +202,31 @@ public class MainViewController {
     // Status info
     @FXML
     private Node loadingStatus;
+    @FXML
+    private Label loadingProgress;
+
+    @FXML
+    private Button loadFlowButton;
+    @FXML
+    private Label loadFlowStatus;
+    @FXML
+    private ChoiceBox<LoadFlowTask.Mode> loadFlowModeChoice;
+    @FXML
+    private CheckBox distributedSlackCheckBox;
+    @FXML
+    private CheckBox autoResolveCheckBox;
+
+    @FXML
+    private ComboBox<String> variantChoice;
+    @FXML
+    private Button discardVariantButton;
+    @FXML
+    private HBox variantBox;
+
+    @FXML
+    private Button exportButton;
+    @FXML
+    private Label exportProgress;
 
     @FXML
     private MenuButton networkFactoryMenuButton;
@@ -140,8 +247,6 @@ public class MainViewController {
     @FXML
     private SingleLineDiagramViewController sldViewController;
 
-    private SingleLineDiagramJsHandler sldJsHandler;
-
     /**
      * Filtered list for the substation tree view.
      * We need to keep a reference to this list, otherwise it gets garbage collected
@@ -150,12 +255,19 @@ public class MainViewController {
 
     private Set<String> containersChecked = new HashSet<>();
 
+    /**
+     * Tree items of all the containers by container id, whether currently filtered out or not
+     */
+    private final Map<String, TreeItem<Container<?>>> containerTreeItems = new ConcurrentHashMap<>();
+
+    // Bursts of parameter changes (spinner held down for instance) are collapsed into a single update
+    private final PauseTransition nadParametersChangeDebounce = new PauseTransition(PARAMETERS_CHANGE_DEBOUNCE_DELAY);
+    private final PauseTransition sldParametersChangeDebounce = new PauseTransition(PARAMETERS_CHANGE_DEBOUNCE_DELAY);
+
     @FXML
     private void initialize() {
         initializeNetworkFactories();
 
-        sldJsHandler = new SingleLineDiagramJsHandler(vlTree);
-
         // to avoid bug in TreeView: it does not calculate properly the selection shift, so clearing selection
         filterField.textProperty().addListener((observable, oldValue, newValue) -> clearSelection());
         componentTypeFilterChoice.valueProperty().addListener((observable, oldValue, newValue) -> clearSelection());
@@ -163,7 +275,8 @@ public class MainViewController {
 
         String casePathPropertyValue = preferences.get(CASE_PATH_PROPERTY, null);
         if (casePathPropertyValue != null) {
-            loadFile(new File(casePathPropertyValue));
+            // Several paths if the last case was a merge of several files
+            loadFiles(Arrays.stream(casePathPropertyValue.split(File.pathSeparator)).map(File::new).toList());
         }
 
         model = new Model(showNames.selectedProperty(), nadViewController.getModel(), sldViewController.getModel());
@@ -171,8 +284,13 @@ public class MainViewController {
         model.networkProperty().addListener((observableValue, oldNetwork, newNetwork) -> {
             sldViewController.updateFrom(model.networkProperty());
             initSubstationsTree(newNetwork);
+            initVariants(newNetwork);
         });
 
+        variantChoice.valueProperty().addListener((observable, oldValue, newValue) -> onVariantSelected(newValue));
+        discardVariantButton.disableProperty().bind(variantChoice.valueProperty().isNull()
+                .or(variantChoice.valueProperty().isEqualTo(VariantManagerConstants.INITIAL_VARIANT_ID)));
+
         showNames.selectedProperty().addListener((observable, oldValue, newValue) -> vlTree.refresh());
 
         countriesFilterComboBox.itemsProperty().bind(Bindings.createObjectBinding(() -> model.getCountriesNames()));
@@ -183,7 +301,7 @@ public class MainViewController {
                 Container<?> c = newValue.getValue();
                 model.setSelectedContainer(c);
                 nadViewController.createDiagram(model.getNetwork(), c);
-                sldViewController.createDiagram(sldJsHandler, model.getNetwork(), c);
+                sldViewController.createDiagram(this::selectContainer, model.getNetwork(), c);
             }
         });
         vlTree.setCellFactory(param -> {
@@ -214,8 +332,14 @@ public class MainViewController {
             return treeCell;
         });
 
-        nadViewController.addListener((observable, oldValue, newValue) -> updateNadDiagrams());
-        sldViewController.addListener((observable, oldValue, newValue) -> updateSldDiagrams());
+        importProgressTimeline.getKeyFrames().add(new KeyFrame(IMPORT_PROGRESS_REFRESH_PERIOD, event -> updateImportProgress()));
+        importProgressTimeline.setCycleCount(Animation.INDEFINITE);
+
+        nadParametersChangeDebounce.setOnFinished(event -> updateNadDiagrams());
+        sldParametersChangeDebounce.setOnFinished(event -> updateSldDiagrams());
+        nadViewController.addListener((observable, oldValue, newValue) -> nadParametersChangeDebounce.playFromStart());
+        sldViewController.addListener((observable, oldValue, newValue) -> sldParametersChangeDebounce.playFromStart());
+        sldViewController.setSwitchOperatedListener(switchId -> onSwitchOperated());
     }
 
     private void clearSelection() {
@@ -255,58 +379,105 @@ public class MainViewController {
         }
     }
 
+    /**
+     * Updates all the single-line diagrams. The pending network changes are consumed, so that the next update of the
+     * modified diagrams does not render them again: the network area diagrams they affect are updated now.
+     */
     private void updateSldDiagrams() {
+        NetworkChangeTracker.Changes changes = model.getChangeTracker().poll();
         sldViewController.updateAllDiagrams(model.getNetwork(), model.getSelectedContainer());
+        if (!changes.isEmpty()) {
+            nadViewController.updateModifiedDiagrams(model.getNetwork(), model.getSelectedContainer(), changes);
+        }
     }
 
+    /**
+     * Updates all the network area diagrams, and the single-line diagrams affected by the pending network changes
+     */
     private void updateNadDiagrams() {
+        NetworkChangeTracker.Changes changes = model.getChangeTracker().poll();
         nadViewController.updateAllDiagrams(model.getNetwork(), model.getSelectedContainer());
+        if (!changes.isEmpty()) {
+            sldViewController.updateModifiedDiagrams(model.getNetwork(), model.getSelectedContainer(), changes);
+        }
+    }
+
+    /**
+     * Updates only the diagrams showing the identifiables modified since the last update
+     */
+    private void updateModifiedDiagrams() {
+        NetworkChangeTracker.Changes changes = model.getChangeTracker().poll();
+        if (!changes.isEmpty()) {
+            sldViewController.updateModifiedDiagrams(model.getNetwork(), model.getSelectedContainer(), changes);
+            nadViewController.updateModifiedDiagrams(model.getNetwork(), model.getSelectedContainer(), changes);
+        }
     }
 
     @FXML
     private void onClickLoadFile(MouseEvent event) {
         event.consume();
-        loadFile(selectFile());
+        loadFiles(selectFiles());
     }
 
-    private File selectFile() {
-        FileChooser fileChooser = new FileChooser();
+    @FXML
+    private void onClickLoadFolder(MouseEvent event) {
+        event.consume();
+        loadFile(selectFolder());
+    }
+
+    private File getInitialDirectory() {
         String caseFolderPropertyValue = preferences.get(CASE_FOLDER_PROPERTY, null);
         if (caseFolderPropertyValue != null && Files.isDirectory(Path.of(caseFolderPropertyValue))) {
-            fileChooser.setInitialDirectory(new File(caseFolderPropertyValue));
+            return new File(caseFolderPropertyValue);
         }
-        fileChooser.setTitle("Open case File");
-        return fileChooser.showOpenDialog(loadingStatus.getScene().getWindow());
+        return null;
+    }
+
+    /**
+     * @return the selected files, several of them being merged once imported, or null if cancelled
+     */
+    private List<File> selectFiles() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setInitialDirectory(getInitialDirectory());
+        fileChooser.setTitle("Open case files");
+        return fileChooser.showOpenMultipleDialog(loadingStatus.getScene().getWindow());
+    }
+
+    private File selectFolder() {
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setInitialDirectory(getInitialDirectory());
+        directoryChooser.setTitle("Open case folder");
+        return directoryChooser.showDialog(loadingStatus.getScene().getWindow());
     }
 
     public void loadFile(File file) {
         if (file != null) {
-            if (networkService != null && networkService.isRunning()) {
-                networkService.cancel();
-            }
+            loadFiles(List.of(file));
+        }
+    }
+
+    /**
+     * Loads the given case files, imported in parallel and merged if several. Folders which are not a case by
+     * themselves are replaced by the case files they contain.
+     */
+    public void loadFiles(List<File> files) {
+        if (files != null && !files.isEmpty()) {
+            cancelNetworkLoading();
+            List<Path> paths = files.stream().map(File::toPath).toList();
             networkService = new Service<>() {
                 @Override
                 protected Task<Network> createTask() {
-                    return new Task<>() {
-                        @Override
-                        protected Network call() {
-                            Properties properties = new Properties();
-                            properties.put("iidm.import.cgmes.post-processors", List.of("cgmesDLImport", "cgmesGLImport"));
-                            properties.put("matpower.import.ignore-base-voltage", "false");
-                            return Network.read(file.toPath(), LocalComputationManager.getDefault(), new ImportConfig(), properties);
-                        }
-                    };
+                    networkImportTask = new NetworkImportTask(paths, networkSnapshotCache);
+                    return networkImportTask;
                 }
             };
-            handleLoadingFileResult(file, networkService);
+            handleLoadingFileResult(files, networkService, networkLoadGeneration);
             networkService.start();
         }
     }
 
     public void loadFactory(String name, Supplier<Network> supplier) {
-        if (networkService != null && networkService.isRunning()) {
-            networkService.cancel();
-        }
+        cancelNetworkLoading();
         networkService = new Service<>() {
             @Override
             protected Task<Network> createTask() {
@@ -319,25 +490,51 @@ public class MainViewController {
                 };
             }
         };
-        handleLoadingFactoryResult(name, networkService);
+        handleLoadingFactoryResult(name, networkService, networkLoadGeneration);
         networkService.start();
     }
 
-    private void handleLoadingFileResult(File file, Service<Network> networkService) {
+    private void cancelNetworkLoading() {
+        networkLoadGeneration++;
+        if (networkService != null && networkService.isRunning()) {
+            // Interrupts the import, which also stops at the next phase if the importer ignores the interruption
+            networkService.cancel();
+        }
+        importProgressTimeline.stop();
+        networkImportTask = null;
+    }
+
+    private void handleLoadingFileResult(List<File> files, Service<Network> networkService, long generation) {
+        String casePaths = files.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator));
         networkService.setOnRunning(event -> {
+            if (generation != networkLoadGeneration) {
+                return;
+            }
             loadingStatus.setStyle("-fx-background-color: yellow");
-            filePath.setText(file.getAbsolutePath());
-            preferences.put(CASE_FOLDER_PROPERTY, file.getParent());
+            filePath.setText(casePaths);
+            File parent = files.get(0).getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                preferences.put(CASE_FOLDER_PROPERTY, parent.getPath());
+            }
+            importProgressTimeline.playFromStart();
         });
 
         networkService.setOnSucceeded(event -> {
+            if (generation != networkLoadGeneration) {
+                return;
+            }
+            stopImportProgress();
             clean();
             model.setNetwork((Network) event.getSource().getValue());
             loadingStatus.setStyle("-fx-background-color: green");
-            preferences.put(CASE_PATH_PROPERTY, file.getAbsolutePath());
+            preferences.put(CASE_PATH_PROPERTY, casePaths);
         });
 
         networkService.setOnFailed(event -> {
+            if (generation != networkLoadGeneration) {
+                return;
+            }
+            stopImportProgress();
             Throwable exception = event.getSource().getException();
             LOGGER.error(exception.toString(), exception);
             filePath.setText("");
@@ -345,18 +542,41 @@ public class MainViewController {
         });
 
         networkService.setOnCancelled(event -> {
+            if (generation != networkLoadGeneration) {
+                return;
+            }
+            stopImportProgress();
             filePath.setText("");
             loadingStatus.setStyle("-fx-background-color: orange");
         });
     }
 
-    private void handleLoadingFactoryResult(String name, Service<Network> networkService) {
+    private void updateImportProgress() {
+        if (networkImportTask != null) {
+            loadingProgress.setText(networkImportTask.getProgressText());
+        }
+    }
+
+    private void stopImportProgress() {
+        importProgressTimeline.stop();
+        updateImportProgress();
+        networkImportTask = null;
+    }
+
+    private void handleLoadingFactoryResult(String name, Service<Network> networkService, long generation) {
         networkService.setOnRunning(event -> {
+            if (generation != networkLoadGeneration) {
+                return;
+            }
             loadingStatus.setStyle("-fx-background-color: yellow");
+            loadingProgress.setText("");
             filePath.setText(name);
         });
 
         networkService.setOnSucceeded(event -> {
+            if (generation != networkLoadGeneration) {
+                return;
+            }
             clean();
             Network network = (Network) event.getSource().getValue();
             model.setNetwork(network);
@@ -364,6 +584,9 @@ public class MainViewController {
         });
 
         networkService.setOnFailed(event -> {
+            if (generation != networkLoadGeneration) {
+                return;
+            }
             Throwable exception = event.getSource().getException();
             LOGGER.error(exception.toString(), exception);
             filePath.setText("");
@@ -372,6 +595,8 @@ public class MainViewController {
     }
 
     private void clean() {
+        // Load flow of the previous network
+        cancelLoadFlow();
         // View
         filterField.setText("");
         // Controller (sld & nad)
@@ -382,12 +607,318 @@ public class MainViewController {
     }
 
     @FXML
-    private void onClickLoadFlow(MouseEvent actionEvent) {
-        LoadFlow.run(model.getNetwork());
-        // forces update -> better done with NetworkListener
+    private void onClickMemory(MouseEvent event) {
+        event.consume();
+        if (memoryStage == null) {
+            FXMLLoader loader = new FXMLLoader(Objects.requireNonNull(getClass().getResource("/memoryView.fxml")));
+            Parent root;
+            try {
+                root = loader.load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            memoryViewController = loader.getController();
+            memoryViewController.setEntriesSupplier(this::getMemoryFootprintEntries);
+            memoryStage = new Stage();
+            memoryStage.initOwner(loadingStatus.getScene().getWindow());
+            memoryStage.setTitle("Memory footprint");
+            memoryStage.setScene(new Scene(root));
+        }
+        memoryViewController.refresh();
+        memoryStage.show();
+        memoryStage.toFront();
+    }
+
+    private List<MemoryFootprint.Entry> getMemoryFootprintEntries() {
+        List<MemoryFootprint.Entry> entries = new ArrayList<>();
+        Network network = model.getNetwork();
+        if (network != null) {
+            entries.add(new MemoryFootprint.Entry("Network " + network.getId(), network.getIdentifiables().size() + " identifiables, "
+                    + network.getVariantManager().getVariantIds().size() + " variants (rough estimate by kind of identifiable)",
+                    MemoryFootprint.estimateNetworkSize(network), true, null));
+        }
+        MemoryFootprint footprint = new MemoryFootprint();
+        sldViewController.addMemoryFootprintEntries("SLD", footprint, entries, this::uncheckContainer);
+        nadViewController.addMemoryFootprintEntries("NAD", footprint, entries, this::uncheckContainer);
+        return entries;
+    }
+
+    private void uncheckContainer(String containerId) {
+        // Removed from the saved selection first, so that a voltage level item created below is not checked again
+        boolean saved = containersChecked.remove(containerId);
+        if (getTreeItem(containerId) instanceof CheckBoxTreeItem<Container<?>> item && item.isSelected()) {
+            // Closes the checked diagrams through the tree item listeners, which also save the selection
+            item.setSelected(false);
+        } else if (saved) {
+            saveSelectedDiagrams();
+        }
+    }
+
+    private void initVariants(Network network) {
+        if (network == null) {
+            variantChoice.getItems().clear();
+            return;
+        }
+        variantChoice.getItems().setAll(network.getVariantManager().getVariantIds().stream().sorted().toList());
+        variantChoice.setValue(network.getVariantManager().getWorkingVariantId());
+    }
+
+    /**
+     * Shows the diagrams of the given variant, those already rendered on its current state being found in cache
+     */
+    private void onVariantSelected(String variantId) {
+        Network network = model.getNetwork();
+        if (network == null || variantId == null || variantId.equals(network.getVariantManager().getWorkingVariantId())) {
+            return;
+        }
+        network.getVariantManager().setWorkingVariant(variantId);
+        // All the diagrams are updated, including the modified ones
         updateSldDiagrams();
         updateNadDiagrams();
+    }
+
+    /**
+     * Copies the working variant into a new what-if variant, then shows it
+     */
+    @FXML
+    private void onClickCloneVariant(MouseEvent event) {
+        event.consume();
+        Network network = model.getNetwork();
+        if (network == null) {
+            return;
+        }
+        VariantManager variantManager = network.getVariantManager();
+        int index = 1;
+        while (variantManager.getVariantIds().contains(WHAT_IF_VARIANT_PREFIX + index)) {
+            index++;
+        }
+        String variantId = WHAT_IF_VARIANT_PREFIX + index;
+        variantManager.cloneVariant(variantManager.getWorkingVariantId(), variantId);
+        variantChoice.getItems().add(variantId);
+        variantChoice.setValue(variantId);
+    }
+
+    /**
+     * Removes the working what-if variant, going back to the initial variant
+     */
+    @FXML
+    private void onClickDiscardVariant(MouseEvent event) {
+        event.consume();
+        Network network = model.getNetwork();
+        if (network == null) {
+            return;
+        }
+        String variantId = network.getVariantManager().getWorkingVariantId();
+        if (VariantManagerConstants.INITIAL_VARIANT_ID.equals(variantId)) {
+            return;
+        }
+        variantChoice.setValue(VariantManagerConstants.INITIAL_VARIANT_ID);
+        network.getVariantManager().removeVariant(variantId);
+        variantChoice.getItems().remove(variantId);
+    }
+
+    /**
+     * Exports the diagrams of the selected type to a directory, or cancels the running export
+     */
+    @FXML
+    private void onClickExport(MouseEvent event) {
+        event.consume();
+        if (exportTask != null && exportTask.isRunning()) {
+            exportTask.cancel(false);
+            return;
+        }
+        Network network = model.getNetwork();
+        if (network == null) {
+            return;
+        }
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Export diagrams to");
+        File directory = directoryChooser.showDialog(loadingStatus.getScene().getWindow());
+        if (directory == null) {
+            return;
+        }
+
+        boolean sld = sldOrNad.getSelectionModel().getSelectedIndex() == 0;
+        DiagramExporter.Drawer drawer = sld ? sldViewController.createExportDrawer(network) : nadViewController.createExportDrawer(network);
+        List<String> containerIds = getExportedContainerIds(network);
+        Task<DiagramExporter.Summary> task = new Task<>() {
+            @Override
+            protected DiagramExporter.Summary call() throws IOException {
+                try {
+                    updateMessage("Exporting " + containerIds.size() + " diagrams");
+                    DiagramExporter.Summary summary = new DiagramExporter(directory.toPath(), EXPORT_PARALLELISM).export(containerIds, drawer,
+                            (doneCount, totalCount, containerId) -> {
+                                updateProgress(doneCount, totalCount);
+                                updateMessage("Exported " + doneCount + "/" + totalCount + " diagrams");
+                            }, this::isCancelled);
+                    LOGGER.info("Export to {}: {} exported, {} skipped, {} failed{}", directory, summary.exportedCount(),
+                            summary.skippedCount(), summary.failures().size(), summary.cancelled() ? ", cancelled" : "");
+                    return summary;
+                } finally {
+                    Platform.runLater(() -> {
+                        runningExportCount--;
+                        updateVariantBox();
+                    });
+                }
+            }
+        };
+        task.setOnSucceeded(e -> {
+            DiagramExporter.Summary summary = task.getValue();
+            endExport(summary.exportedCount() + " exported, " + summary.skippedCount() + " already there, "
+                    + summary.failures().size() + " failed");
+        });
+        task.setOnCancelled(e -> endExport("Export cancelled, resumed if run again on the same directory"));
+        task.setOnFailed(e -> {
+            LOGGER.error(task.getException().toString(), task.getException());
+            endExport("Export failed");
+        });
+
+        exportTask = task;
+        runningExportCount++;
+        updateVariantBox();
+        exportProgress.textProperty().bind(task.messageProperty());
+        exportProgress.setVisible(true);
+        exportProgress.setManaged(true);
+        exportButton.setText("Cancel export");
+        Thread thread = new Thread(task, "diagram-export-main");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void endExport(String message) {
+        exportProgress.textProperty().unbind();
+        exportProgress.setText(message);
+        exportButton.setText("Export...");
+    }
+
+    /**
+     * @return the checked containers if any, otherwise the voltage levels shown in the tree
+     */
+    private List<String> getExportedContainerIds(Network network) {
+        if (!containersChecked.isEmpty()) {
+            return containersChecked.stream().filter(id -> network.getIdentifiable(id) != null).sorted().toList();
+        }
+        return filteredList.stream()
+                .map(TreeItem::getValue)
+                .flatMap(c -> c instanceof Substation s ? s.getVoltageLevelStream().map(Identifiable::getId) : Stream.of(c.getId()))
+                .toList();
+    }
+
+    /**
+     * Runs the load flow in background, or cancels the running one: a single load flow runs at a time
+     */
+    @FXML
+    private void onClickLoadFlow(MouseEvent actionEvent) {
         actionEvent.consume();
+        if (loadFlowTask != null && loadFlowTask.isRunning()) {
+            cancelLoadFlow();
+            return;
+        }
+        runLoadFlow(loadFlowModeChoice.getValue());
+    }
+
+    /**
+     * Re-solves the load flow after a switch operation if enabled, starting from the previous solution. Operations
+     * done while a load flow runs are coalesced into a single load flow run afterwards.
+     * If re-solved, the diagrams are only updated once the load flow ends, to avoid showing the new topology with the
+     * previous flows in between.
+     */
+    private void onSwitchOperated() {
+        if (!autoResolveCheckBox.isSelected()) {
+            updateModifiedDiagrams();
+            return;
+        }
+        if (loadFlowTask != null && loadFlowTask.isRunning()) {
+            loadFlowPending = true;
+            return;
+        }
+        runLoadFlow(getAutoResolveMode());
+    }
+
+    private LoadFlowTask.Mode getAutoResolveMode() {
+        return loadFlowModeChoice.getValue() == LoadFlowTask.Mode.DC_PREVIEW ? LoadFlowTask.Mode.DC_PREVIEW : LoadFlowTask.Mode.AC_WARM_START;
+    }
+
+    private void runLoadFlow(LoadFlowTask.Mode mode) {
+        Network network = model.getNetwork();
+        if (network == null) {
+            return;
+        }
+
+        LoadFlowTask task = new LoadFlowTask(network, mode, distributedSlackCheckBox.isSelected());
+        task.setOnSucceeded(event -> {
+            endLoadFlow(task);
+            updateDiagramsAfterLoadFlow(task);
+        });
+        task.setOnCancelled(event -> {
+            endLoadFlow(task);
+            loadFlowStatus.setText("Load flow cancelled");
+            // The engine may have written to the network before stopping
+            updateDiagramsAfterLoadFlow(task);
+        });
+        task.setOnFailed(event -> {
+            endLoadFlow(task);
+            loadFlowStatus.setText("Load flow failed");
+            LOGGER.error(task.getException().toString(), task.getException());
+            // Switches operated before the load flow are still to be shown
+            updateDiagramsAfterLoadFlow(task);
+        });
+
+        loadFlowTask = task;
+        updateVariantBox();
+        loadFlowStatus.textProperty().bind(task.messageProperty());
+        loadFlowStatus.setVisible(true);
+        loadFlowStatus.setManaged(true);
+        loadFlowButton.setText("Cancel load flow");
+        Thread thread = new Thread(task, "load-flow");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void endLoadFlow(LoadFlowTask task) {
+        loadFlowStatus.textProperty().unbind();
+        loadFlowStatus.setText(task.getMessage());
+        loadFlowButton.setText("Run powsybl open-loadflow");
+        loadFlowButton.setDisable(false);
+        updateVariantBox();
+    }
+
+    /**
+     * Updates the diagrams modified by the ended load flow, or runs the pending one first if switches were operated
+     * meanwhile, the diagrams being then updated once it ends
+     */
+    private void updateDiagramsAfterLoadFlow(LoadFlowTask task) {
+        Network network = task.getNetwork();
+        if (network != model.getNetwork() || !task.getVariantId().equals(network.getVariantManager().getWorkingVariantId())) {
+            return;
+        }
+        if (loadFlowPending) {
+            loadFlowPending = false;
+            runLoadFlow(getAutoResolveMode());
+        } else {
+            updateModifiedDiagrams();
+        }
+    }
+
+    /**
+     * Requests the running load flow to stop. A new load flow cannot be run until the engine has actually stopped.
+     */
+    private void cancelLoadFlow() {
+        loadFlowPending = false;
+        if (loadFlowTask != null && loadFlowTask.isRunning() && !loadFlowTask.isCancelRequested()) {
+            loadFlowTask.requestCancel();
+            loadFlowButton.setText("Cancelling load flow");
+            loadFlowButton.setDisable(true);
+        }
+    }
+
+    /**
+     * The working variant is shared by all the threads: it cannot be changed, cloned or removed while a load flow
+     * engine or an export may still use it, a cancelled load flow included until its engine has actually stopped
+     */
+    private void updateVariantBox() {
+        // A load flow task is only done once its engine has stopped
+        variantBox.setDisable((loadFlowTask != null && !loadFlowTask.isDone()) || runningExportCount > 0);
     }
 
     @FXML
@@ -405,98 +936,187 @@ public class MainViewController {
     }
 
     private void initSubstationsTree(Network network) {
+        if (treeItemsService != null && treeItemsService.isRunning()) {
+            treeItemsService.cancel();
+        }
         if (network == null) {
             return;
         }
 
         containersChecked = readSavedSelection();
+        containerTreeItems.clear();
+        containerFilterIndex.set(null);
 
         ObservableList<TreeItem<Container<?>>> substationItems = FXCollections.observableArrayList();
-        for (Substation s : network.getSubstations()) {
-            var sItem = createSubLevelCheckBoxTreeItem(s, substationItems, containersChecked);
-            s.getVoltageLevelStream().forEach(v -> createSubLevelCheckBoxTreeItem(v, sItem.getChildren(), containersChecked));
-        }
-        network.getVoltageLevelStream()
-                .filter(v -> v.getSubstation().isEmpty())
-                .forEach(v -> createSubLevelCheckBoxTreeItem(v, substationItems, containersChecked));
-
         filteredList = new FilteredList<>(substationItems);
-        filteredList.predicateProperty().bind(Bindings.createObjectBinding(() -> this::treeItemFilter,
+        filteredList.predicateProperty().bind(Bindings.createObjectBinding(this::createTreeItemFilter,
+                containerFilterIndex,
                 filterField.textProperty(),
+                showNames.selectedProperty(),
                 componentTypeFilterChoice.valueProperty(),
                 countriesFilterComboBox.valueProperty()));
 
-        var rootTreeItem = createCheckBoxTreeItem(network, containersChecked);
+        var rootTreeItem = createCheckBoxTreeItem(network, true);
+        restoreSelection(rootTreeItem);
         Bindings.bindContent(rootTreeItem.getChildren(), filteredList);
         vlTree.setRoot(rootTreeItem);
         vlTree.setShowRoot(true);
+
+        // Substation items are created in background and added by chunks, voltage level items are created when needed
+        boolean expanded = network.getSubstationCount() <= EXPANDED_TREE_MAX_SUBSTATIONS;
+        treeItemsService = new Service<>() {
+            @Override
+            protected Task<Void> createTask() {
+                return new Task<>() {
+                    @Override
+                    protected Void call() {
+                        List<TreeItem<Container<?>>> chunk = new ArrayList<>(TREE_ITEMS_CHUNK_SIZE);
+                        Iterator<Container<?>> containers = Stream.<Container<?>>concat(network.getSubstationStream(),
+                                network.getVoltageLevelStream().filter(v -> v.getSubstation().isEmpty())).iterator();
+                        while (containers.hasNext() && !isCancelled()) {
+                            Container<?> c = containers.next();
+                            chunk.add(c instanceof Substation substation
+                                    ? createSubstationTreeItem(substation, expanded)
+                                    : createCheckBoxTreeItem(c, expanded));
+                            if (chunk.size() == TREE_ITEMS_CHUNK_SIZE || !containers.hasNext()) {
+                                List<TreeItem<Container<?>>> items = chunk;
+                                Platform.runLater(() -> addSubstationItems(rootTreeItem, substationItems, items));
+                                chunk = new ArrayList<>(TREE_ITEMS_CHUNK_SIZE);
+                            }
+                        }
+                        // Built once the items are shown, as it walks the whole network
+                        if (!isCancelled()) {
+                            ContainerFilterIndex index = ContainerFilterIndex.build(network);
+                            Platform.runLater(() -> {
+                                if (vlTree.getRoot() == rootTreeItem) {
+                                    containerFilterIndex.set(index);
+                                }
+                            });
+                        }
+                        return null;
+                    }
+                };
+            }
+        };
+        treeItemsService.setOnFailed(event -> {
+            Throwable exception = event.getSource().getException();
+            LOGGER.error(exception.toString(), exception);
+        });
+        treeItemsService.start();
+    }
+
+    private void addSubstationItems(TreeItem<Container<?>> rootTreeItem, ObservableList<TreeItem<Container<?>>> substationItems,
+                                    List<TreeItem<Container<?>>> items) {
+        if (vlTree.getRoot() != rootTreeItem) {
+            return; // tree replaced in the meantime
+        }
+        substationItems.addAll(items);
+        items.forEach(this::restoreSelection);
     }
 
-    private CheckBoxTreeItem<Container<?>> createCheckBoxTreeItem(Container<?> c, Set<String> selectedIds) {
+    private SubstationTreeItem createSubstationTreeItem(Substation substation, boolean expanded) {
+        SubstationTreeItem sItem = new SubstationTreeItem(substation, v -> {
+            var vItem = createCheckBoxTreeItem(v, true);
+            restoreSelection(vItem);
+            return vItem;
+        });
+        initCheckBoxTreeItem(sItem, expanded);
+        return sItem;
+    }
+
+    private CheckBoxTreeItem<Container<?>> createCheckBoxTreeItem(Container<?> c, boolean expanded) {
         CheckBoxTreeItem<Container<?>> cItem = new CheckBoxTreeItem<>(c);
+        initCheckBoxTreeItem(cItem, expanded);
+        return cItem;
+    }
+
+    private void initCheckBoxTreeItem(CheckBoxTreeItem<Container<?>> cItem, boolean expanded) {
+        containerTreeItems.put(cItem.getValue().getId(), cItem);
         cItem.setIndependent(true);
-        cItem.setExpanded(true);
+        cItem.setExpanded(expanded);
         addListenerOnContainerItem(cItem);
-        if (selectedIds.contains(c.getId())) {
+    }
+
+    /**
+     * Checks the item if it was checked in the saved selection, which opens the corresponding tabs.
+     * To be called on the JavaFX application thread.
+     */
+    private void restoreSelection(TreeItem<Container<?>> item) {
+        if (containersChecked.contains(item.getValue().getId()) && item instanceof CheckBoxTreeItem<Container<?>> cItem) {
             cItem.setSelected(true);
         }
-        return cItem;
+        if (item instanceof SubstationTreeItem sItem && !sItem.isChildrenCreated()
+                && ((Substation) sItem.getValue()).getVoltageLevelStream().anyMatch(v -> containersChecked.contains(v.getId()))) {
+            sItem.getChildren(); // checked voltage levels need their item to get their tab
+        }
     }
 
-    private boolean treeItemFilter(TreeItem<Container<?>> item) {
-        String filter = filterField.getText();
-        ComponentFilterType idType = componentTypeFilterChoice.getValue();
-        String countryValue = countriesFilterComboBox.getValue();
-        Country country = countryValue != null ? Country.valueOf(countryValue) : null;
-        var container = item.getValue();
-        if (StringUtils.isEmpty(filter)) {
-            return containsComponentType(idType, container) && locatedIn(country, container);
-        } else {
-            boolean filterOk = getIdentifiableStringSupplier().apply(container)
-                    .toLowerCase(Locale.getDefault())
-                    .contains(filter.toLowerCase(Locale.getDefault()));
-            return (filterOk || item.getChildren().stream().anyMatch(this::treeItemFilter))
-                    && containsComponentType(idType, container)
-                    && locatedIn(country, container);
+    /**
+     * Selects the tree item of the given container, if not filtered out
+     */
+    private void selectContainer(String containerId) {
+        TreeItem<Container<?>> item = getTreeItem(containerId);
+        if (item == null || !isShown(item)) {
+            return;
+        }
+        if (item.getParent() != null) {
+            item.getParent().setExpanded(true);
         }
+        vlTree.getSelectionModel().select(item);
+        vlTree.scrollTo(vlTree.getRow(item));
     }
 
-    private static boolean locatedIn(Country country, Container<? extends Identifiable<?>> container) {
-        if (country == null) {
-            return true; // no selection
+    /**
+     * @return the tree item of the given container, the voltage level items of its substation being created if needed,
+     * or null if the substation item is not created yet either
+     */
+    private TreeItem<Container<?>> getTreeItem(String containerId) {
+        TreeItem<Container<?>> item = containerTreeItems.get(containerId);
+        if (item == null && model.getNetwork() != null) {
+            // Voltage level item not created yet
+            VoltageLevel voltageLevel = model.getNetwork().getVoltageLevel(containerId);
+            if (voltageLevel != null) {
+                voltageLevel.getSubstation().map(s -> containerTreeItems.get(s.getId())).ifPresent(TreeItem::getChildren);
+                item = containerTreeItems.get(containerId);
+            }
         }
-        if (container instanceof Substation s) {
-            return s.getCountry().map(c -> c == country).orElse(false);
-        } else if (container instanceof VoltageLevel v) {
-            return v.getSubstation().flatMap(Substation::getCountry).map(c -> c == country).orElse(false);
-        } else {
-            return true; // network
-        }
-    }
-
-    private static boolean containsComponentType(ComponentFilterType type, Container<?> container) {
-        if (container instanceof Substation s) {
-            return s.getVoltageLevelStream().anyMatch(v -> containsComponentType(type, v));
-        } else if (container instanceof VoltageLevel v) {
-            return switch (type) {
-                case ALL -> true;
-                case HVDC_LINE -> v.getConnectableStream(HvdcConverterStation.class).map(HvdcConverterStation::getHvdcLine).anyMatch(Objects::nonNull);
-                case SWITCH -> v.getSwitchCount() != 0;
-                case TIE_LINE -> v.getBoundaryLineStream(BoundaryLineFilter.PAIRED).findFirst().isPresent();
-                case BOUNDARY_LINE -> v.getBoundaryLineStream(BoundaryLineFilter.UNPAIRED).findFirst().isPresent();
-                case PHASE_SHIFT_TRANSFORMER -> v.getConnectableStream(TwoWindingsTransformer.class).anyMatch(TwoWindingsTransformer::hasPhaseTapChanger);
-                case RATIO_TAP_CHANGER_TRANSFORMER -> v.getConnectableStream(TwoWindingsTransformer.class).anyMatch(TwoWindingsTransformer::hasRatioTapChanger);
-                default -> v.getConnectableStream(type.connectableClass).findFirst().isPresent();
-            };
-        } else {
-            return true; // network
+        return item;
+    }
+
+    private boolean isShown(TreeItem<Container<?>> item) {
+        // Filtered out items are detached from their parent
+        TreeItem<Container<?>> ancestor = item;
+        while (ancestor.getParent() != null) {
+            ancestor = ancestor.getParent();
         }
+        return ancestor == vlTree.getRoot();
     }
 
-    private CheckBoxTreeItem<Container<?>> createSubLevelCheckBoxTreeItem(Container<?> c, ObservableList<TreeItem<Container<?>>> treeItems, Set<String> selectedIds) {
-        var cItem = createCheckBoxTreeItem(c, selectedIds);
-        treeItems.add(cItem);
-        return cItem;
+    private Predicate<TreeItem<Container<?>>> createTreeItemFilter() {
+        String filter = filterField.getText();
+        ComponentFilterType idType = componentTypeFilterChoice.getValue();
+        String countryValue = countriesFilterComboBox.getValue();
+        ContainerFilterIndex index = containerFilterIndex.get();
+        if (index == null) {
+            // Index built once all the items are added: until then, items are only shown if there is no filter
+            boolean filtered = StringUtils.isNotEmpty(filter) || (idType != null && idType != ComponentFilterType.ALL) || countryValue != null;
+            return item -> !filtered;
+        }
+        Country country = countryValue != null ? Country.valueOf(countryValue) : null;
+        Predicate<Container<?>> typeAndCountryFilter = c -> index.containsComponentType(c, idType) && index.locatedIn(c, country);
+        if (StringUtils.isEmpty(filter)) {
+            return item -> typeAndCountryFilter.test(item.getValue());
+        }
+
+        // Text matches are looked up once for all items
+        Set<String> textMatches = index.findMatches(ContainerFilterIndex.toLowerCase(filter), showNames.isSelected());
+        Predicate<Container<?>> containerFilter = c -> typeAndCountryFilter.test(c) && textMatches.contains(c.getId());
+        return item -> {
+            Container<?> container = item.getValue();
+            // Voltage level items may not be created yet, hence filtering on the voltage levels themselves
+            return containerFilter.test(container)
+                    || container instanceof Substation s && typeAndCountryFilter.test(s) && s.getVoltageLevelStream().anyMatch(containerFilter);
+        };
     }
 
     private Function<Identifiable<?>, String> getIdentifiableStringSupplier() {
@@ -520,7 +1140,7 @@ public class MainViewController {
         Container<?> container = containerTreeItem.getValue();
         String tabName = getIdentifiableStringSupplier().apply(container);
         nadViewController.createCheckedTab(model.getNetwork(), containerTreeItem, tabName);
-        sldViewController.createCheckedTab(sldJsHandler, model.getNetwork(), containerTreeItem, tabName);
+        sldViewController.createCheckedTab(this::selectContainer, model.getNetwork(), containerTreeItem, tabName);
     }
 
     private void saveSelectedDiagrams() {
@@ -553,6 +1173,6 @@ public class MainViewController {
 
     public void processOpen(ActionEvent actionEvent) {
         actionEvent.consume();
-        loadFile(selectFile());
+        loadFiles(selectFiles());
     }
 }
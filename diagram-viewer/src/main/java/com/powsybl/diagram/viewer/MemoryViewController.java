@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.diagram.viewer.common.MemoryFootprint;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Instrumentation panel listing the estimated memory footprint of the network and of the diagrams, with actions to
+ * evict them.
+ */
+public class MemoryViewController {
+
+    private static final double MB = 1024 * 1024;
+
+    @FXML
+    private Label heapSummary;
+
+    @FXML
+    private TableView<MemoryFootprint.Entry> entriesTable;
+
+    @FXML
+    private TableColumn<MemoryFootprint.Entry, String> componentColumn;
+
+    @FXML
+    private TableColumn<MemoryFootprint.Entry, String> detailsColumn;
+
+    @FXML
+    private TableColumn<MemoryFootprint.Entry, Double> sizeColumn;
+
+    @FXML
+    private TableColumn<MemoryFootprint.Entry, String> locationColumn;
+
+    @FXML
+    private Button evictButton;
+
+    private Supplier<List<MemoryFootprint.Entry>> entriesSupplier = List::of;
+
+    @FXML
+    private void initialize() {
+        componentColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().component()));
+        detailsColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().details()));
+        sizeColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(Math.round(cell.getValue().estimatedBytes() / MB * 10) / 10.0));
+        locationColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().onHeap() ? "Java heap" : "Native"));
+        evictButton.disableProperty().bind(entriesTable.getSelectionModel().selectedItemProperty().map(e -> e.evictAction() == null).orElse(true));
+    }
+
+    public void setEntriesSupplier(Supplier<List<MemoryFootprint.Entry>> entriesSupplier) {
+        this.entriesSupplier = Objects.requireNonNull(entriesSupplier);
+    }
+
+    public void refresh() {
+        Runtime runtime = Runtime.getRuntime();
+        List<MemoryFootprint.Entry> entries = entriesSupplier.get();
+        long estimatedHeap = entries.stream().filter(MemoryFootprint.Entry::onHeap).mapToLong(MemoryFootprint.Entry::estimatedBytes).sum();
+        heapSummary.setText(String.format("Heap used %.0f MB, committed %.0f MB, max %.0f MB - estimated for the components below %.0f MB",
+                (runtime.totalMemory() - runtime.freeMemory()) / MB, runtime.totalMemory() / MB, runtime.maxMemory() / MB,
+                estimatedHeap / MB));
+        entriesTable.getItems().setAll(entries);
+    }
+
+    @FXML
+    private void onRefresh(ActionEvent event) {
+        event.consume();
+        refresh();
+    }
+
+    @FXML
+    private void onEvictSelected(ActionEvent event) {
+        event.consume();
+        MemoryFootprint.Entry entry = entriesTable.getSelectionModel().getSelectedItem();
+        if (entry != null && entry.evictAction() != null) {
+            entry.evictAction().run();
+            refresh();
+        }
+    }
+
+    @FXML
+    private void onEvictAll(ActionEvent event) {
+        event.consume();
+        // Several entries may share the same eviction action
+        entriesTable.getItems().stream()
+                .map(MemoryFootprint.Entry::evictAction)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(Runnable::run);
+        refresh();
+    }
+
+    @FXML
+    private void onRunGc(ActionEvent event) {
+        event.consume();
+        System.gc();
+        refresh();
+    }
+}
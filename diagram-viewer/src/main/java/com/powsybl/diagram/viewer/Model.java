@@ -7,6 +7,7 @@
  */
 package com.powsybl.diagram.viewer;
 
+import com.powsybl.diagram.viewer.common.NetworkChangeTracker;
 import com.powsybl.diagram.viewer.nad.NetworkAreaDiagramModel;
 import com.powsybl.diagram.viewer.sld.SingleLineDiagramModel;
 import com.powsybl.iidm.network.Container;
@@ -29,6 +30,8 @@ public class Model {
 
     private final SingleLineDiagramModel sldModel;
 
+    private NetworkChangeTracker changeTracker = new NetworkChangeTracker();
+
     public Model(BooleanProperty showNames, NetworkAreaDiagramModel nadModel, SingleLineDiagramModel sldModel) {
         this.nadModel = nadModel;
         this.sldModel = sldModel;
@@ -38,9 +41,20 @@ public class Model {
 
     public void setNetwork(Network network) {
         this.countriesNames.setAll(network.getCountries().stream().map(Country::toString).toList());
+        this.nadModel.setNetwork(network);
+        this.sldModel.setNetwork(network);
+        this.changeTracker = new NetworkChangeTracker();
+        network.addListener(changeTracker);
         this.network.setValue(network);
     }
 
+    /**
+     * @return the modifications of the current network not shown in the diagrams yet
+     */
+    public NetworkChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
     public Network getNetwork() {
         return network.getValue();
     }
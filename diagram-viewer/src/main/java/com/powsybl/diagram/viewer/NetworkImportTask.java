@@ -0,0 +1,347 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.computation.local.LocalComputationManager;
+import com.powsybl.iidm.network.*;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Network import task split into phases, each of them timed and reported both in the import report and in the
+ * timing log.
+ * Several case files, or a folder containing several case files, are imported in parallel and merged into a single
+ * network made of one subnetwork per case.
+ * The current phase, its elapsed time and the heap usage can be polled from any thread with {@link #getProgressText}.
+ * Cancellation is checked between phases: the importer itself can only be stopped through thread interruption, but
+ * once cancelled the imported network is dropped instead of being returned or cached.
+ */
+public class NetworkImportTask extends Task<Network> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkImportTask.class);
+
+    /**
+     * Logger dedicated to phase timings, one line of key=value pairs per phase
+     */
+    private static final Logger TIMING_LOGGER = LoggerFactory.getLogger("com.powsybl.diagram.viewer.timing");
+
+    private static final long MB = 1024 * 1024;
+
+    /**
+     * Maximum number of case files imported at the same time
+     */
+    private static final int MAX_PARALLEL_IMPORTS = Runtime.getRuntime().availableProcessors();
+
+    private final List<Path> files;
+
+    private final NetworkSnapshotCache snapshotCache;
+
+    private final AtomicInteger importedFileCount = new AtomicInteger();
+
+    private volatile PhaseTimer timer;
+    private volatile int fileCount;
+    private volatile long importStartNanos;
+    private volatile long importEndNanos;
+
+    /**
+     * Times the successive phases of an import, reported under the given report node
+     */
+    private final class PhaseTimer {
+
+        private final String name;
+        private final ReportNode reportNode;
+        private volatile String phase;
+        private volatile long phaseStartNanos;
+
+        private PhaseTimer(String name, ReportNode reportNode) {
+            this.name = name;
+            this.reportNode = reportNode;
+        }
+
+        private ReportNode start(String newPhase) {
+            end();
+            if (isCancelled()) {
+                throw new CancellationException("Import of " + name + " cancelled before " + newPhase);
+            }
+            phaseStartNanos = System.nanoTime();
+            phase = newPhase;
+            return reportNode.newReportNode()
+                    .withMessageTemplate("diagram.viewer.networkImportPhase")
+                    .withUntypedValue("phase", newPhase)
+                    .add();
+        }
+
+        private void end() {
+            String endedPhase = phase;
+            if (endedPhase == null) {
+                return;
+            }
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStartNanos);
+            long heapUsedMb = getHeapUsedMb();
+            reportNode.newReportNode()
+                    .withMessageTemplate("diagram.viewer.networkImportPhaseTiming")
+                    .withUntypedValue("phase", endedPhase)
+                    .withUntypedValue("durationMs", durationMs)
+                    .withUntypedValue("heapUsedMb", heapUsedMb)
+                    .add();
+            TIMING_LOGGER.info("file=\"{}\" phase=\"{}\" durationMs={} heapUsedMb={} cancelled={}",
+                    name, endedPhase, durationMs, heapUsedMb, isCancelled());
+            phase = null;
+        }
+    }
+
+    /**
+     * @param files case files or folders to import, merged if several
+     * @param snapshotCache cache of imported networks, or null to always use the importer
+     */
+    public NetworkImportTask(List<Path> files, NetworkSnapshotCache snapshotCache) {
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No file to import");
+        }
+        this.files = List.copyOf(files);
+        this.snapshotCache = snapshotCache;
+    }
+
+    private static Properties createImportProperties() {
+        Properties properties = new Properties();
+        properties.put("iidm.import.cgmes.post-processors", List.of("cgmesDLImport", "cgmesGLImport"));
+        properties.put("matpower.import.ignore-base-voltage", "false");
+        return properties;
+    }
+
+    private static ReportNode createReportNode(String name) {
+        return ReportNode.newRootReportNode()
+                .withAllResourceBundlesFromClasspath()
+                .withMessageTemplate("diagram.viewer.networkImport")
+                .withUntypedValue("file", name)
+                .build();
+    }
+
+    @Override
+    protected Network call() {
+        importStartNanos = System.nanoTime();
+        String name = files.stream().map(Path::toString).collect(Collectors.joining(", "));
+        ReportNode reportNode = createReportNode(name);
+        PhaseTimer mainTimer = new PhaseTimer(name, reportNode);
+        timer = mainTimer;
+
+        try {
+            Properties properties = createImportProperties();
+            mainTimer.start("Listing case files");
+            List<Path> caseFiles = listCaseFiles();
+            if (caseFiles.isEmpty()) {
+                throw new PowsyblException("No supported case file in " + name);
+            }
+            if (caseFiles.size() == 1) {
+                return importCaseFile(caseFiles.get(0), properties, mainTimer, false);
+            }
+
+            fileCount = caseFiles.size();
+            mainTimer.start("Importing " + caseFiles.size() + " case files");
+            List<Network> networks = importCaseFiles(caseFiles, properties, reportNode);
+            if (isCancelled()) {
+                return null;
+            }
+
+            mainTimer.start("Merging");
+            return Network.merge(networks.toArray(Network[]::new));
+        } finally {
+            // Also logged on failure, to know how far the import went
+            mainTimer.end();
+            importEndNanos = System.nanoTime();
+            logReport(reportNode);
+        }
+    }
+
+    /**
+     * Folders which are not a case by themselves, a CGMES folder for instance, are replaced by the case files they
+     * contain.
+     */
+    private List<Path> listCaseFiles() {
+        List<Path> caseFiles = new ArrayList<>();
+        for (Path file : files) {
+            if (Files.isDirectory(file) && findImporter(DataSource.fromPath(file)) == null) {
+                try (Stream<Path> children = Files.list(file)) {
+                    children.filter(Files::isRegularFile)
+                            .filter(child -> findImporter(DataSource.fromPath(child)) != null)
+                            .sorted()
+                            .forEach(caseFiles::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else {
+                caseFiles.add(file);
+            }
+        }
+        return caseFiles;
+    }
+
+    private static Importer findImporter(ReadOnlyDataSource dataSource) {
+        return Importer.find(dataSource, new ImportersServiceLoader(), LocalComputationManager.getDefault(), new ImportConfig());
+    }
+
+    private List<Network> importCaseFiles(List<Path> caseFiles, Properties properties, ReportNode reportNode) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(caseFiles.size(), MAX_PARALLEL_IMPORTS), runnable -> {
+            Thread thread = new Thread(runnable, "network-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<PhaseTimer> fileTimers = new ArrayList<>();
+            List<Future<Network>> futures = new ArrayList<>();
+            for (Path caseFile : caseFiles) {
+                PhaseTimer fileTimer = new PhaseTimer(caseFile.toString(), createReportNode(caseFile.toString()));
+                fileTimers.add(fileTimer);
+                futures.add(executor.submit(() -> {
+                    try {
+                        return importCaseFile(caseFile, properties, fileTimer, true);
+                    } finally {
+                        fileTimer.end();
+                        importedFileCount.incrementAndGet();
+                    }
+                }));
+            }
+
+            List<Network> networks = new ArrayList<>();
+            for (Future<Network> future : futures) {
+                networks.add(future.get());
+            }
+            // Report nodes are not thread-safe, hence only gathered once all imports are done
+            fileTimers.forEach(fileTimer -> reportNode.include(fileTimer.reportNode));
+            return networks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import of " + caseFiles + " interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new PowsyblException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Stops the other imports on failure
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param merged whether the imported network is to be merged with other ones
+     */
+    private Network importCaseFile(Path file, Properties properties, PhaseTimer phaseTimer, boolean merged) {
+        if (snapshotCache != null) {
+            phaseTimer.start("Reading snapshot");
+            Optional<Network> snapshot = snapshotCache.read(file, properties);
+            if (snapshot.isPresent()) {
+                return snapshot.get();
+            }
+        }
+
+        phaseTimer.start("Opening data source");
+        ReadOnlyDataSource dataSource = DataSource.fromPath(file);
+
+        phaseTimer.start("Finding importer");
+        Importer importer = findImporter(dataSource);
+        if (importer == null) {
+            throw new PowsyblException("Unsupported file format or invalid file: " + file);
+        }
+
+        // Importer report nodes are attached to this phase, CGMES post-processors are run within the import
+        ReportNode importReportNode = phaseTimer.start("Importing " + importer.getFormat());
+        Network network = importer.importData(dataSource, NetworkFactory.findDefault(), properties, importReportNode);
+        logImporterReport(file, importer.getFormat(), importReportNode);
+        if (isCancelled()) {
+            // Not referenced anymore: the network and the triple store it may hold as extension can be collected
+            LOGGER.info("Import of {} cancelled, dropping imported network", file);
+            return null;
+        }
+
+        if (snapshotCache != null) {
+            if (merged) {
+                // Merging moves the content of the network, hence written before, in parallel with the other imports
+                phaseTimer.start("Writing snapshot");
+                snapshotCache.write(file, properties, network);
+            } else {
+                // Written while the network is displayed
+                snapshotCache.writeInBackground(file, properties, network);
+            }
+        }
+        return network;
+    }
+
+    /**
+     * The importer does not expose the timing of its internal steps (parsing, conversion, post-processors): its report,
+     * listing these steps, is written to the timing log next to the phase timings so that the breakdown is visible.
+     */
+    private static void logImporterReport(Path file, String format, ReportNode importReportNode) {
+        if (TIMING_LOGGER.isInfoEnabled()) {
+            try (StringWriter writer = new StringWriter()) {
+                importReportNode.print(writer);
+                TIMING_LOGGER.info("file=\"{}\" phase=\"Importing {}\" report:\n{}", file, format, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static void logReport(ReportNode reportNode) {
+        if (LOGGER.isDebugEnabled()) {
+            try (StringWriter writer = new StringWriter()) {
+                reportNode.print(writer);
+                LOGGER.debug("Network import report:\n{}", writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static long getHeapUsedMb() {
+        Runtime runtime = Runtime.getRuntime();
+        return (runtime.totalMemory() - runtime.freeMemory()) / MB;
+    }
+
+    /**
+     * @return a one line summary of the import progress: current phase if any, elapsed times and heap usage
+     */
+    public String getProgressText() {
+        long now = System.nanoTime();
+        PhaseTimer currentTimer = timer;
+        String currentPhase = currentTimer != null ? currentTimer.phase : null;
+        long end = importEndNanos != 0 ? importEndNanos : now;
+        String elapsed = String.format("%.1f s", (end - importStartNanos) / 1e9);
+        StringBuilder text = new StringBuilder();
+        if (currentPhase != null) {
+            text.append(currentPhase);
+            if (fileCount > 0 && importedFileCount.get() < fileCount) {
+                text.append(" [").append(importedFileCount.get()).append('/').append(fileCount).append(']');
+            }
+            text.append(" (").append(String.format("%.1f s", (now - currentTimer.phaseStartNanos) / 1e9))
+                    .append(") - total ").append(elapsed);
+        } else {
+            text.append("Ended after ").append(elapsed);
+        }
+        return text.append(" - heap ").append(getHeapUsedMb()).append(" MB").toString();
+    }
+}
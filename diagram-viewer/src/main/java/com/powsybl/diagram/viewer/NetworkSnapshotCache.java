@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.commons.extensions.Extension;
+import com.powsybl.commons.extensions.ExtensionProviders;
+import com.powsybl.commons.extensions.ExtensionSerDe;
+import com.powsybl.commons.io.TreeDataFormat;
+import com.powsybl.iidm.network.DefaultNetworkListener;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.serde.ExportOptions;
+import com.powsybl.iidm.serde.ImportOptions;
+import com.powsybl.iidm.serde.NetworkSerDe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of imported networks, stored in binary IIDM so that re-opening a case skips the importer.
+ * A snapshot is only used if the case file size and modification time, or those of all the files of a case folder,
+ * and the import properties, are the same as when it was written.
+ * Extensions without serializer are dropped from the snapshots, their names being logged when written: a network read
+ * from a snapshot lacks them. For a CGMES case, this is the case of the extension holding the CGMES triple store,
+ * which the viewer does not use to draw diagrams. A case whose diagrams depend on such an extension is drawn without
+ * it when read from a snapshot; deleting the snapshot directory makes the next opening use the importer again.
+ */
+public class NetworkSnapshotCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkSnapshotCache.class);
+
+    /**
+     * To be incremented when snapshots written by a previous version should not be read anymore
+     */
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private static final String SNAPSHOT_EXTENSION = ".biidm";
+    private static final String KEY_EXTENSION = ".key";
+
+    private static final int DEFAULT_MAX_SNAPSHOTS = 5;
+
+    private final Path directory;
+
+    private final int maxSnapshots;
+
+    private final Executor writeExecutor;
+
+    /**
+     * Network listener telling whether the network was modified while its snapshot was waiting or being written
+     */
+    private static final class ModificationListener extends DefaultNetworkListener {
+
+        private volatile boolean modified;
+
+        @Override
+        public void onCreation(Identifiable<?> identifiable) {
+            modified = true;
+        }
+
+        @Override
+        public void afterRemoval(String id) {
+            modified = true;
+        }
+
+        @Override
+        public void onUpdate(Identifiable<?> identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onExtensionUpdate(Extension<?> extension, String attribute, String variantId, Object oldValue, Object newValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onPropertyAdded(Identifiable<?> identifiable, String key, Object newValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onPropertyReplaced(Identifiable<?> identifiable, String key, Object oldValue, Object newValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onPropertyRemoved(Identifiable<?> identifiable, String key, Object oldValue) {
+            modified = true;
+        }
+
+        @Override
+        public void onVariantCreated(String sourceVariantId, String targetVariantId) {
+            // The working variant, which is the one written, may then be changed
+            modified = true;
+        }
+    }
+
+    public NetworkSnapshotCache(Path directory, int maxSnapshots) {
+        this(directory, maxSnapshots, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "network-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * @param writeExecutor executor of the snapshots written in background
+     */
+    NetworkSnapshotCache(Path directory, int maxSnapshots, Executor writeExecutor) {
+        this.directory = Objects.requireNonNull(directory);
+        this.maxSnapshots = maxSnapshots;
+        this.writeExecutor = Objects.requireNonNull(writeExecutor);
+    }
+
+    public static NetworkSnapshotCache createDefault() {
+        return new NetworkSnapshotCache(Path.of(System.getProperty("user.home"), ".cache", "powsybl-diagram-viewer", "snapshots"),
+                DEFAULT_MAX_SNAPSHOTS);
+    }
+
+    /**
+     * @return the network read from the snapshot of given case file, or empty if there is no snapshot up to date
+     */
+    public Optional<Network> read(Path caseFile, Properties importProperties) {
+        try {
+            Path snapshotFile = getSnapshotFile(caseFile);
+            Path keyFile = getKeyFile(caseFile);
+            if (!Files.exists(snapshotFile) || !Files.exists(keyFile)
+                    || !Files.readString(keyFile).equals(createKey(caseFile, importProperties))) {
+                return Optional.empty();
+            }
+            Network network = NetworkSerDe.read(snapshotFile, new ImportOptions().setFormat(TreeDataFormat.BIN));
+            // Used as least recently used order when pruning
+            Files.setLastModifiedTime(keyFile, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(network);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Cannot read network snapshot of {}, falling back to import: {}", caseFile, e.toString());
+            delete(caseFile);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot of given case file. Failures are logged only, the cache being an optimization.
+     */
+    public void write(Path caseFile, Properties importProperties, Network network) {
+        String key;
+        try {
+            key = createKey(caseFile, importProperties);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write network snapshot of {}: {}", caseFile, e.toString());
+            return;
+        }
+        write(caseFile, key, network, () -> false);
+    }
+
+    /**
+     * Writes the snapshot of given case file in background, so that the network can be displayed meanwhile. To be
+     * called before the network is modified: the snapshot is dropped if the network is modified before it is written,
+     * as it would not be the one of the case anymore. Failures are logged only.
+     */
+    public void writeInBackground(Path caseFile, Properties importProperties, Network network) {
+        String key;
+        try {
+            // Case files as imported, even if modified meanwhile
+            key = createKey(caseFile, importProperties);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write network snapshot of {}: {}", caseFile, e.toString());
+            return;
+        }
+        ModificationListener listener = new ModificationListener();
+        network.addListener(listener);
+        writeExecutor.execute(() -> {
+            try {
+                write(caseFile, key, network, () -> listener.modified);
+            } finally {
+                network.removeListener(listener);
+            }
+        });
+    }
+
+    private void write(Path caseFile, String key, Network network, BooleanSupplier modified) {
+        if (modified.getAsBoolean()) {
+            LOGGER.info("No network snapshot of {}, modified before being written", caseFile);
+            return;
+        }
+        Set<String> unserializableExtensions = getUnserializableExtensionNames(network);
+        if (!unserializableExtensions.isEmpty()) {
+            LOGGER.info("Network snapshot of {} written without extensions {}, which cannot be serialized", caseFile, unserializableExtensions);
+        }
+        try {
+            Files.createDirectories(directory);
+            Path snapshotFile = getSnapshotFile(caseFile);
+            Path keyFile = getKeyFile(caseFile);
+            // Key file written last, so that an interrupted write leaves no valid snapshot
+            Files.deleteIfExists(keyFile);
+            Path tmpFile = Files.createTempFile(directory, "snapshot", SNAPSHOT_EXTENSION);
+            try {
+                NetworkSerDe.write(network, new ExportOptions().setFormat(TreeDataFormat.BIN), tmpFile);
+                if (modified.getAsBoolean()) {
+                    // Possibly written half before and half after the modification
+                    LOGGER.info("No network snapshot of {}, modified while being written", caseFile);
+                    return;
+                }
+                Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmpFile);
+            }
+            Files.writeString(keyFile, key);
+            prune();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Cannot write network snapshot of {}: {}", caseFile, e.toString());
+            delete(caseFile);
+        }
+    }
+
+    /**
+     * @return the names of the extensions of the network and of its identifiables which have no serializer, hence are
+     * not written in snapshots
+     */
+    static Set<String> getUnserializableExtensionNames(Network network) {
+        ExtensionProviders<ExtensionSerDe> serDeProviders = ExtensionProviders.createProvider(ExtensionSerDe.class, "network");
+        Set<String> names = new TreeSet<>();
+        List<Identifiable<?>> identifiables = new ArrayList<>(network.getIdentifiables());
+        identifiables.add(network);
+        for (Identifiable<?> identifiable : identifiables) {
+            for (Extension<?> extension : identifiable.getExtensions()) {
+                if (serDeProviders.findProvider(extension.getName()) == null) {
+                    names.add(extension.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    private void delete(Path caseFile) {
+        try {
+            Files.deleteIfExists(getKeyFile(caseFile));
+            Files.deleteIfExists(getSnapshotFile(caseFile));
+        } catch (IOException e) {
+            LOGGER.warn("Cannot delete network snapshot of {}: {}", caseFile, e.toString());
+        }
+    }
+
+    /**
+     * Removes the least recently used snapshots above the maximum number of snapshots
+     */
+    private synchronized void prune() throws IOException {
+        List<Path> keyFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            keyFiles = files.filter(f -> f.getFileName().toString().endsWith(KEY_EXTENSION))
+                    .sorted(Comparator.comparing(NetworkSnapshotCache::getLastModifiedTime).reversed())
+                    .toList();
+        }
+        for (Path keyFile : keyFiles.subList(Math.min(maxSnapshots, keyFiles.size()), keyFiles.size())) {
+            String baseName = keyFile.getFileName().toString().replace(KEY_EXTENSION, "");
+            Files.deleteIfExists(keyFile);
+            Files.deleteIfExists(directory.resolve(baseName + SNAPSHOT_EXTENSION));
+        }
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path getSnapshotFile(Path caseFile) {
+        return directory.resolve(getBaseName(caseFile) + SNAPSHOT_EXTENSION);
+    }
+
+    private Path getKeyFile(Path caseFile) {
+        return directory.resolve(getBaseName(caseFile) + KEY_EXTENSION);
+    }
+
+    private static String getBaseName(Path caseFile) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(caseFile.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The size and modification time of a folder do not change when the files it contains are modified, hence the
+     * key of a case folder lists all the files it contains.
+     */
+    static String createKey(Path caseFile, Properties importProperties) throws IOException {
+        StringBuilder key = new StringBuilder()
+                .append("version=").append(SNAPSHOT_VERSION).append('\n')
+                .append("path=").append(caseFile.toAbsolutePath().normalize()).append('\n');
+        if (Files.isDirectory(caseFile)) {
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(caseFile)) {
+                files = walk.filter(Files::isRegularFile).sorted().toList();
+            }
+            for (Path file : files) {
+                appendFileKey(key, caseFile.relativize(file).toString(), file);
+            }
+        } else {
+            appendFileKey(key, "", caseFile);
+        }
+        new TreeMap<>(importProperties).forEach((k, v) -> key.append(k).append('=').append(v).append('\n'));
+        return key.toString();
+    }
+
+    private static void appendFileKey(StringBuilder key, String relativeName, Path file) throws IOException {
+        key.append("file=").append(relativeName)
+                .append(" size=").append(Files.size(file))
+                .append(" lastModified=").append(Files.getLastModifiedTime(file).toMillis()).append('\n');
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.iidm.network.Container;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.VoltageLevel;
+import javafx.collections.ObservableList;
+import javafx.scene.control.CheckBoxTreeItem;
+import javafx.scene.control.TreeItem;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Substation tree item whose voltage level children are only created the first time they are needed, that is when
+ * the item is expanded for instance.
+ */
+public class SubstationTreeItem extends CheckBoxTreeItem<Container<?>> {
+
+    private final Function<VoltageLevel, TreeItem<Container<?>>> voltageLevelItemFactory;
+
+    private final boolean leaf;
+
+    private boolean childrenCreated;
+
+    public SubstationTreeItem(Substation substation, Function<VoltageLevel, TreeItem<Container<?>>> voltageLevelItemFactory) {
+        super(substation);
+        this.voltageLevelItemFactory = voltageLevelItemFactory;
+        this.leaf = substation.getVoltageLevelStream().findAny().isEmpty();
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return leaf;
+    }
+
+    @Override
+    public ObservableList<TreeItem<Container<?>>> getChildren() {
+        ObservableList<TreeItem<Container<?>>> children = super.getChildren();
+        // Factory is null if called during super class construction
+        if (!childrenCreated && voltageLevelItemFactory != null) {
+            childrenCreated = true;
+            List<TreeItem<Container<?>>> voltageLevelItems = ((Substation) getValue()).getVoltageLevelStream()
+                    .map(voltageLevelItemFactory)
+                    .toList();
+            children.setAll(voltageLevelItems);
+        }
+        return children;
+    }
+
+    public boolean isChildrenCreated() {
+        return childrenCreated;
+    }
+}
@@ -9,7 +9,9 @@ package com.powsybl.diagram.viewer.common;
 
 import com.google.common.io.ByteStreams;
 import com.powsybl.iidm.network.*;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.StringProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.concurrent.Worker;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -18,31 +20,53 @@ import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.VBox;
 import javafx.scene.web.WebView;
 import netscape.javascript.JSObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * @author Thomas Adam <tadam at silicom.fr>
  */
 public abstract class AbstractDiagramController {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDiagramController.class);
+
+    /**
+     * Longer svgs are reloaded instead of being patched in place: the patch walks the whole displayed document on the
+     * JavaFX application thread, which for large substation or network area diagrams stalls the UI longer than a reload
+     */
+    static final int MAX_PATCHED_SVG_LENGTH = 1_000_000;
+
     @FXML
     public WebView diagramWebView;
 
-    private StringProperty svgContent;
-    private StringProperty metadataContent;
+    /**
+     * Text tab showing a content of the container result
+     */
+    private record AdditionalTab(AreaViewController area, Function<ContainerResult, StringProperty> content,
+                                 InvalidationListener contentListener) {
+    }
+
+    private final List<AdditionalTab> additionalTabs = new ArrayList<>();
 
     @FXML
     public TextArea info;
     @FXML
     protected TabPane diagramTabPane;
 
-    private String html;
-    private String js;
+    private HtmlTemplate htmlTemplate;
+
+    private ContainerResult containerResult;
+    private final ChangeListener<String> svgContentListener = (obs, oldV, newV) -> updateSVGContent(newV);
+    // Id of the container currently displayed, and of the one whose page is loaded in the web view
+    private String containerId;
+    private String loadedContainerId;
 
     protected void setUpListenerOnWebViewChanges(java.lang.Object jsHandler) {
         // Set up the listener on WebView changes
@@ -77,49 +101,78 @@ public abstract class AbstractDiagramController {
         // Avoid the useless right click on the image
         diagramWebView.setContextMenuEnabled(false);
 
-        html = new String(ByteStreams.toByteArray(Objects.requireNonNull(getClass().getResourceAsStream("/" + prefix + "/svg.html"))));
-        js = new String(ByteStreams.toByteArray(Objects.requireNonNull(getClass().getResourceAsStream("/" + prefix + "/svg.js"))));
+        String html = new String(ByteStreams.toByteArray(Objects.requireNonNull(getClass().getResourceAsStream("/" + prefix + "/svg.html"))));
+        String js = new String(ByteStreams.toByteArray(Objects.requireNonNull(getClass().getResourceAsStream("/svgPatch.js"))))
+                + new String(ByteStreams.toByteArray(Objects.requireNonNull(getClass().getResourceAsStream("/" + prefix + "/svg.js"))));
+        htmlTemplate = new HtmlTemplate(html, js);
 
-        svgContent = addAdditionalTab("SVG", "SVG file", "*.svg");
-        metadataContent = addAdditionalTab("Metadata", "JSON file", "*.json");
+        addAdditionalTab("SVG", "SVG file", "*.svg", ContainerResult::svgContentProperty);
+        addAdditionalTab("Metadata", "JSON file", "*.json", ContainerResult::metadataContentProperty);
     }
 
     public void createDiagram(Container<?> container,
                               ContainerResult containerResult) {
         info.setText(String.join(System.lineSeparator(), "id: " + container.getId(), "name: " + container.getNameOrId()));
 
-        // SVG content listener & binding
-        StringProperty svgContentProperty = containerResult.svgContentProperty();
-        svgContentProperty.addListener((obs, oldV, newV) -> updateSVGContent(newV));
-        svgContent.bind(svgContentProperty);
+        // SVG content & text tabs listeners
+        if (this.containerResult != null) {
+            this.containerResult.svgContentProperty().removeListener(svgContentListener);
+            additionalTabs.forEach(tab -> tab.content().apply(this.containerResult).removeListener(tab.contentListener()));
+        }
+        this.containerResult = containerResult;
+        this.containerId = container.getId();
+        containerResult.svgContentProperty().addListener(svgContentListener);
+        for (AdditionalTab tab : additionalTabs) {
+            StringProperty content = tab.content().apply(containerResult);
+            content.addListener(tab.contentListener());
+            tab.area().setContentSupplier(content::get);
+        }
+    }
 
-        // Metadata binding
-        metadataContent.bind(containerResult.metadataContentProperty());
+    protected ContainerResult getContainerResult() {
+        return containerResult;
+    }
+
+    /**
+     * @return the number of elements in the web view document, 0 if not loaded
+     */
+    protected int getWebViewNodeCount() {
+        if (diagramWebView.getEngine().getLoadWorker().getState() != Worker.State.SUCCEEDED) {
+            return 0;
+        }
+        Object count = diagramWebView.getEngine().executeScript("document.getElementsByTagName('*').length");
+        return count instanceof Number number ? number.intValue() : 0;
     }
 
     protected void updateSVGContent(String newContent) {
-        String embeddedSvg = html.replaceFirst("%__SVG__%", newContent).replaceFirst("%__JS__%", js);
-        diagramWebView.getEngine().loadContent(embeddedSvg);
+        // Same diagram already displayed: only the modified svg nodes are updated, which keeps zoom and scroll position
+        if (Objects.equals(containerId, loadedContainerId) && newContent != null && newContent.length() <= MAX_PATCHED_SVG_LENGTH
+                && diagramWebView.getEngine().getLoadWorker().getState() == Worker.State.SUCCEEDED) {
+            long startNanos = System.nanoTime();
+            JSObject window = (JSObject) diagramWebView.getEngine().executeScript("window");
+            boolean patched = Boolean.TRUE.equals(window.call("patchSvg", newContent));
+            LOGGER.debug("Svg of {} ({} chars) {} in {} ms", containerId, newContent.length(), patched ? "patched" : "not patched",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            if (patched) {
+                return;
+            }
+        }
+        loadedContainerId = containerId;
+        diagramWebView.getEngine().loadContent(htmlTemplate.render(newContent));
     }
 
     public void onClickFitToContent() {
-        String svgData = svgContent.get();
-        Optional<String> svgLine = svgData.lines().filter(l -> l.contains("<svg")).findAny();
-        if (svgLine.isPresent()) {
-            String valuePattern = "\"([^\"]*)\"";
-            Pattern pW = Pattern.compile("width=" + valuePattern);
-            Matcher mW = pW.matcher(svgLine.get());
-            Pattern pH = Pattern.compile("height=" + valuePattern);
-            Matcher mH = pH.matcher(svgLine.get());
-            if (mH.find() && mW.find()) {
-                double svgWidth = Double.parseDouble(mW.group(1));
-                double svgHeight = Double.parseDouble(mH.group(1));
-                double paneWidth = diagramWebView.widthProperty().get();
-                double paneHeight = diagramWebView.heightProperty().get();
-                double zoomH = paneHeight / svgHeight;
-                double zoomW = paneWidth / svgWidth;
-                diagramWebView.setZoom(Math.min(zoomH, zoomW));
-            }
+        if (containerResult == null) {
+            return;
+        }
+        double svgWidth = containerResult.getSvgWidth();
+        double svgHeight = containerResult.getSvgHeight();
+        if (!Double.isNaN(svgWidth) && !Double.isNaN(svgHeight)) {
+            double paneWidth = diagramWebView.widthProperty().get();
+            double paneHeight = diagramWebView.heightProperty().get();
+            double zoomH = paneHeight / svgHeight;
+            double zoomW = paneWidth / svgWidth;
+            diagramWebView.setZoom(Math.min(zoomH, zoomW));
         }
     }
 
@@ -131,15 +184,27 @@ public abstract class AbstractDiagramController {
         info.setText("");
     }
 
-    protected StringProperty addAdditionalTab(String name, String descrSave, String extensionSave) throws IOException {
+    /**
+     * Adds a text tab showing the given content of the container result. The content is only given to the text
+     * viewer when the tab is selected, so that renderings do not pay for the text indexing of hidden tabs.
+     */
+    protected void addAdditionalTab(String name, String descrSave, String extensionSave,
+                                    Function<ContainerResult, StringProperty> content) throws IOException {
         FXMLLoader loader = new FXMLLoader();
         loader.setLocation(Objects.requireNonNull(getClass().getResource("/areaView.fxml")));
         VBox metadataArea = loader.load();
         AreaViewController viewController = loader.getController();
-        StringProperty result = viewController.init(descrSave, extensionSave);
         Tab tab = new Tab(name, metadataArea);
         tab.setClosable(false);
+        viewController.init(descrSave, extensionSave, tab.selectedProperty());
         diagramTabPane.getTabs().add(tab);
-        return result;
+        additionalTabs.add(new AdditionalTab(viewController, content, observable -> viewController.invalidateContent()));
+    }
+
+    /**
+     * @return the estimated size in bytes retained by the text tabs in addition to the result contents
+     */
+    protected long getAdditionalTabsRetainedSize() {
+        return additionalTabs.stream().mapToLong(tab -> tab.area().getRetainedSize()).sum();
     }
 }
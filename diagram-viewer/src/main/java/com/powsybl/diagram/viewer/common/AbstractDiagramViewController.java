@@ -22,6 +22,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public abstract class AbstractDiagramViewController {
 
@@ -37,6 +39,8 @@ public abstract class AbstractDiagramViewController {
 
     protected abstract AbstractDiagramController getCheckedDiagramController(Tab tabInChecked);
 
+    public abstract DiagramModel getModel();
+
     protected void removeCheckedDiagram(Tab tab, Container<?> container) {
         Objects.requireNonNull(container);
         checkedTab.getTabs().remove(tab);
@@ -81,9 +85,69 @@ public abstract class AbstractDiagramViewController {
         getSelectedDiagramController().clean();
     }
 
-    private AbstractDiagramController getActiveTabController() {
+    /**
+     * Adds the estimated memory footprint of the displayed diagrams and of the rendering cache.
+     * @param diagramType diagram type name, prefixing the component names
+     * @param checkedDiagramCloser action closing the checked diagram of given container id
+     */
+    public void addMemoryFootprintEntries(String diagramType, MemoryFootprint footprint, List<MemoryFootprint.Entry> entries,
+                                          Consumer<String> checkedDiagramCloser) {
+        addMemoryFootprintEntries(diagramType + " selected", getSelectedDiagramController(), footprint, entries, null);
+        for (Tab tab : checkedTab.getTabs()) {
+            AbstractDiagramController controller = getCheckedDiagramController(tab);
+            if (controller != null) {
+                String containerId = tab.getId();
+                addMemoryFootprintEntries(diagramType + " checked " + tab.getText(), controller, footprint, entries,
+                        () -> checkedDiagramCloser.accept(containerId));
+            }
+        }
+
+        DiagramResultCache resultCache = getModel().getResultCache();
+        long plainSize = resultCache.getPlainResults().stream().mapToLong(footprint::estimateResultSize).sum();
+        DiagramResultCache.CompressionStats stats = resultCache.getCompressionStats();
+        boolean onHeap = resultCache.getCompressedResults().stream().noneMatch(CompressedContainerResult::isOffHeap);
+        entries.add(new MemoryFootprint.Entry(diagramType + " rendering cache", stats.plainCount() + " uncompressed results",
+                plainSize, true, resultCache::clear));
+        entries.add(new MemoryFootprint.Entry(diagramType + " rendering cache, compressed", String.format(
+                "%d compressed results, %.1f MB before compression, %.0f%% saved, %d ms spent compressing",
+                stats.compressedCount(), stats.rawSize() / 1e6,
+                stats.rawSize() > 0 ? 100.0 * (stats.rawSize() - stats.compressedSize()) / stats.rawSize() : 0.0,
+                TimeUnit.NANOSECONDS.toMillis(stats.compressionNanos())),
+                stats.compressedSize(), onHeap, resultCache::clear));
+    }
+
+    private static void addMemoryFootprintEntries(String name, AbstractDiagramController controller, MemoryFootprint footprint,
+                                                  List<MemoryFootprint.Entry> entries, Runnable evictAction) {
+        ContainerResult result = controller.getContainerResult();
+        if (result == null) {
+            return;
+        }
+        entries.add(new MemoryFootprint.Entry(name + " result", "SVG, metadata and graph strings",
+                footprint.estimateResultSize(result), true, evictAction));
+        entries.add(new MemoryFootprint.Entry(name + " text tabs", "Line index of the shown text tab, if any",
+                controller.getAdditionalTabsRetainedSize(), true, evictAction));
+        int nodeCount = controller.getWebViewNodeCount();
+        entries.add(new MemoryFootprint.Entry(name + " web view", nodeCount + " DOM elements",
+                MemoryFootprint.estimateWebViewSize(nodeCount), false, evictAction));
+    }
+
+    private boolean isSelectedTabActive() {
         Tab tab = checkedOrSelected.getSelectionModel().getSelectedItem();
-        if ("Selected".equals(tab.getText())) {
+        return tab != null && "Selected".equals(tab.getText());
+    }
+
+    protected DiagramRenderingScheduler.Priority getSelectedDiagramPriority() {
+        return isSelectedTabActive() ? DiagramRenderingScheduler.Priority.VISIBLE : DiagramRenderingScheduler.Priority.BACKGROUND;
+    }
+
+    protected DiagramRenderingScheduler.Priority getCheckedDiagramPriority(Container<?> container) {
+        Tab tabInChecked = checkedTab.getSelectionModel().getSelectedItem();
+        boolean visible = !isSelectedTabActive() && tabInChecked != null && container.getId().equals(tabInChecked.getId());
+        return visible ? DiagramRenderingScheduler.Priority.VISIBLE : DiagramRenderingScheduler.Priority.BACKGROUND;
+    }
+
+    private AbstractDiagramController getActiveTabController() {
+        if (isSelectedTabActive()) {
             return getSelectedDiagramController();
         } else {
             Tab tabInChecked = checkedTab.getSelectionModel().getSelectedItem();
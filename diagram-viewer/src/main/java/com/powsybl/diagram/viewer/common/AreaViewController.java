@@ -7,30 +7,45 @@
  */
 package com.powsybl.diagram.viewer.common;
 
-import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.UncheckedIOException;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Matcher;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 public class AreaViewController {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AreaViewController.class);
+
+    private static final int SAVE_CHUNK_SIZE = 64 * 1024;
+
     @FXML
     private HBox searchBox;
 
     @FXML
     private TextField searchTextField;
 
+    @FXML
+    private Label matchCountLabel;
+
+    @FXML
+    private Button previousButton;
+
     @FXML
     private Button searchButton;
 
@@ -38,56 +53,181 @@ public class AreaViewController {
     private Button saveButton;
 
     @FXML
-    private TextArea content;
+    private TextLinesView content;
+
+    // Content is only pulled when shown, and released when hidden
+    private Supplier<String> contentSupplier = () -> "";
+    private ObservableValue<Boolean> shown;
+    private boolean contentUpToDate;
+
+    // Compiled pattern of the last query, kept as long as the query is unchanged
+    private String compiledQuery;
+    private Pattern compiledPattern;
+
+    // Matches of the compiled pattern in the shown content, computed in background once per query and content
+    private TextSearchTask searchTask;
+    private boolean searchForward = true;
+    private int[] matchOffsets;
+    private int currentMatch = -1;
 
     @FXML
     private void initialize() {
-        AtomicReference<Integer> searchStart = new AtomicReference<>(0);
-        searchStart.set(0);
-        searchButton.setOnAction(evh -> {
-            String txtPattern = searchTextField.getText();
-            Pattern pattern = Pattern.compile(txtPattern);
-            Matcher matcher = pattern.matcher(content.getText());
-            boolean found = matcher.find(searchStart.get());
-            if (found) {
-                content.selectRange(matcher.start(), matcher.end());
-                searchStart.set(matcher.end());
-            } else {
-                content.deselect();
-                searchStart.set(0);
-                found = matcher.find(searchStart.get());
-                if (found) {
-                    content.selectRange(matcher.start(), matcher.end());
-                    searchStart.set(matcher.end());
-                }
-            }
-        });
-        searchTextField.textProperty().addListener((observable, oldValue, newValue) ->
-                searchStart.set(0)
-        );
+        searchButton.setOnAction(evh -> search(true));
+        searchTextField.setOnAction(evh -> search(true));
+        previousButton.setOnAction(evh -> search(false));
+        searchTextField.textProperty().addListener((observable, oldValue, newValue) -> resetSearch());
         HBox.setHgrow(searchTextField, Priority.ALWAYS);
         VBox.setVgrow(searchBox, Priority.NEVER);
         VBox.setVgrow(content, Priority.ALWAYS);
-        content.setEditable(false);
     }
 
-    public StringProperty init(String descrSave, String extensionSave) {
+    /**
+     * @param shown whether the area is currently shown, the content being only fetched then
+     */
+    public void init(String descrSave, String extensionSave, ObservableValue<Boolean> shown) {
+        this.shown = shown;
+        shown.addListener((observable, oldValue, newValue) -> refreshContent());
         saveButton.setOnAction(evh -> {
             FileChooser fileChooser = new FileChooser();
             FileChooser.ExtensionFilter extFilter = new FileChooser.ExtensionFilter(descrSave, extensionSave);
             fileChooser.getExtensionFilters().add(extFilter);
             File file = fileChooser.showSaveDialog(content.getScene().getWindow());
             if (file != null) {
-                try {
-                    PrintWriter writer;
-                    writer = new PrintWriter(file);
-                    writer.println(content.getText());
-                    writer.close();
-                } catch (IOException ex) {
-                    throw new UncheckedIOException(ex);
+                save(contentSupplier.get(), file.toPath());
+            }
+        });
+    }
+
+    /**
+     * Streams the content to the given file in background, by chunks so that no copy of the whole content is made
+     */
+    private static void save(CharSequence text, Path file) {
+        Task<Void> saveTask = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    if (text != null) {
+                        for (int start = 0; start < text.length(); start += SAVE_CHUNK_SIZE) {
+                            writer.append(text, start, Math.min(text.length(), start + SAVE_CHUNK_SIZE));
+                        }
+                    }
                 }
+                return null;
+            }
+        };
+        saveTask.setOnFailed(event -> LOGGER.error("Error while saving {}", file, saveTask.getException()));
+        Thread thread = new Thread(saveTask, "area-save");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Jumps to the next or previous match, the matches being first searched if the query or the content changed
+     */
+    private void search(boolean forward) {
+        searchForward = forward;
+        if (matchOffsets != null) {
+            showMatch(forward);
+            return;
+        }
+        if (searchTask != null) {
+            return; // matches shown once the running search is done
+        }
+        String query = searchTextField.getText();
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+        if (!query.equals(compiledQuery)) {
+            try {
+                compiledPattern = Pattern.compile(query);
+                compiledQuery = query;
+            } catch (PatternSyntaxException e) {
+                matchCountLabel.setText("Invalid pattern");
+                return;
+            }
+        }
+
+        TextSearchTask task = new TextSearchTask(compiledPattern, content.getText());
+        task.setOnSucceeded(event -> {
+            if (task == searchTask) {
+                searchTask = null;
+                matchOffsets = task.getValue();
+                currentMatch = -1;
+                showMatch(searchForward);
+            }
+        });
+        task.setOnFailed(event -> {
+            if (task == searchTask) {
+                searchTask = null;
+                matchCountLabel.setText("Search failed");
+                LOGGER.error("Error while searching {}", compiledQuery, task.getException());
             }
         });
-        return content.textProperty();
+        searchTask = task;
+        matchCountLabel.setText("Searching...");
+        Thread thread = new Thread(task, "area-search");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void showMatch(boolean forward) {
+        int matchCount = matchOffsets.length / 2;
+        if (matchCount == 0) {
+            content.getSelectionModel().clearSelection();
+            matchCountLabel.setText("No match");
+            return;
+        }
+        if (currentMatch < 0) {
+            currentMatch = forward ? 0 : matchCount - 1;
+        } else {
+            currentMatch = (currentMatch + (forward ? 1 : matchCount - 1)) % matchCount;
+        }
+        content.showRange(matchOffsets[2 * currentMatch], matchOffsets[2 * currentMatch + 1]);
+        matchCountLabel.setText((currentMatch + 1) + " / " + matchCount + (matchCount == TextSearchTask.MAX_MATCHES ? "+" : ""));
+    }
+
+    /**
+     * Cancels the running search if any and forgets the matches, for instance after a query or content change
+     */
+    private void resetSearch() {
+        if (searchTask != null) {
+            searchTask.cancel();
+            searchTask = null;
+        }
+        matchOffsets = null;
+        currentMatch = -1;
+        matchCountLabel.setText("");
+    }
+
+    public void setContentSupplier(Supplier<String> contentSupplier) {
+        this.contentSupplier = contentSupplier;
+        invalidateContent();
+    }
+
+    public void invalidateContent() {
+        contentUpToDate = false;
+        refreshContent();
+    }
+
+    private void refreshContent() {
+        if (Boolean.TRUE.equals(shown.getValue())) {
+            if (!contentUpToDate) {
+                resetSearch();
+                content.setText(contentSupplier.get());
+                contentUpToDate = true;
+            }
+        } else if (content.getLength() > 0) {
+            // Releases the content and its line index
+            resetSearch();
+            content.clear();
+            contentUpToDate = false;
+        }
+    }
+
+    /**
+     * @return the estimated size in bytes retained by the viewer in addition to the content
+     */
+    public long getRetainedSize() {
+        return content.getLineIndexSize() + (matchOffsets != null ? 4L * matchOffsets.length : 0);
     }
 }
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+/**
+ * Finished rendering result kept compressed, to be inflated into a {@link ContainerResult} when displayed again.
+ */
+public record CompressedContainerResult(CompressedText svg, CompressedText metadata, CompressedText json,
+                                        double svgWidth, double svgHeight) {
+
+    public static CompressedContainerResult of(ContainerResult result, boolean offHeap) {
+        return new CompressedContainerResult(CompressedText.compress(result.svgContentProperty().get(), offHeap),
+                CompressedText.compress(result.metadataContentProperty().get(), offHeap),
+                CompressedText.compress(result.jsonContentProperty().get(), offHeap),
+                result.getSvgWidth(), result.getSvgHeight());
+    }
+
+    public ContainerResult inflate() {
+        ContainerResult result = new ContainerResult();
+        result.svgContentProperty().set(svg.inflate());
+        result.metadataContentProperty().set(metadata.inflate());
+        result.jsonContentProperty().set(json.inflate());
+        result.setSvgSize(svgWidth, svgHeight);
+        return result;
+    }
+
+    public long getCompressedSize() {
+        return (long) svg.getCompressedSize() + metadata.getCompressedSize() + json.getCompressedSize();
+    }
+
+    public long getUncompressedSize() {
+        return (long) svg.getUtf8Length() + metadata.getUtf8Length() + json.getUtf8Length();
+    }
+
+    public boolean isOffHeap() {
+        return svg.isOffHeap();
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable text kept as deflated UTF-8 bytes, either in the Java heap or off-heap in a direct buffer.
+ * SVG and JSON payloads typically compress by a factor of 10 or more.
+ */
+public final class CompressedText {
+
+    private static final CompressedText EMPTY = new CompressedText(ByteBuffer.allocate(0), 0);
+
+    private final ByteBuffer data;
+
+    private final int utf8Length;
+
+    private CompressedText(ByteBuffer data, int utf8Length) {
+        this.data = data;
+        this.utf8Length = utf8Length;
+    }
+
+    public static CompressedText compress(String text, boolean offHeap) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        // Fastest level: the cost of compressing is paid by each result leaving the most recently used ones
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, utf8.length / 8));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                compressed.write(chunk, 0, n);
+            }
+            byte[] bytes = compressed.toByteArray();
+            ByteBuffer data = offHeap ? ByteBuffer.allocateDirect(bytes.length).put(bytes).flip() : ByteBuffer.wrap(bytes);
+            return new CompressedText(data.asReadOnlyBuffer(), utf8.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public String inflate() {
+        if (utf8Length == 0) {
+            return "";
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.duplicate());
+            byte[] utf8 = new byte[utf8Length];
+            int offset = 0;
+            while (offset < utf8Length && !inflater.finished()) {
+                offset += inflater.inflate(utf8, offset, utf8Length - offset);
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @return the size of the text in UTF-8, before compression
+     */
+    public int getUtf8Length() {
+        return utf8Length;
+    }
+
+    public int getCompressedSize() {
+        return data.capacity();
+    }
+
+    public boolean isOffHeap() {
+        return data.isDirect();
+    }
+}
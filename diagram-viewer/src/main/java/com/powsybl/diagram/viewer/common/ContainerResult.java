@@ -10,17 +10,29 @@ package com.powsybl.diagram.viewer.common;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 public class ContainerResult {
+    private static final Pattern SVG_WIDTH_PATTERN = Pattern.compile("\\swidth=\"([^\"]*)\"");
+    private static final Pattern SVG_HEIGHT_PATTERN = Pattern.compile("\\sheight=\"([^\"]*)\"");
+
     private final StringProperty svgContent = new SimpleStringProperty();
 
     private final StringProperty metadataContent = new SimpleStringProperty();
 
     private final StringProperty jsonContent = new SimpleStringProperty();
 
+    private double svgWidth = Double.NaN;
+
+    private double svgHeight = Double.NaN;
+
     public void clean() {
         svgContent.set("");
         metadataContent.set("");
         jsonContent.set("");
+        svgWidth = Double.NaN;
+        svgHeight = Double.NaN;
     }
 
     public StringProperty svgContentProperty() {
@@ -35,7 +47,48 @@ public class ContainerResult {
         return jsonContent;
     }
 
+    public double getSvgWidth() {
+        return svgWidth;
+    }
+
+    public double getSvgHeight() {
+        return svgHeight;
+    }
+
+    void setSvgSize(double svgWidth, double svgHeight) {
+        this.svgWidth = svgWidth;
+        this.svgHeight = svgHeight;
+    }
+
+    /**
+     * Reads the diagram size from the root svg element attributes, so that it is parsed only once per rendering.
+     * Size is left undefined if not found.
+     */
+    public void computeSvgSize() {
+        svgWidth = Double.NaN;
+        svgHeight = Double.NaN;
+        String svg = svgContent.get();
+        int svgStart = svg != null ? svg.indexOf("<svg") : -1;
+        int svgEnd = svgStart >= 0 ? svg.indexOf('>', svgStart) : -1;
+        if (svgEnd >= 0) {
+            CharSequence svgElement = svg.subSequence(svgStart, svgEnd);
+            Matcher widthMatcher = SVG_WIDTH_PATTERN.matcher(svgElement);
+            Matcher heightMatcher = SVG_HEIGHT_PATTERN.matcher(svgElement);
+            if (widthMatcher.find() && heightMatcher.find()) {
+                try {
+                    svgWidth = Double.parseDouble(widthMatcher.group(1));
+                    svgHeight = Double.parseDouble(heightMatcher.group(1));
+                } catch (NumberFormatException e) {
+                    svgWidth = Double.NaN;
+                    svgHeight = Double.NaN;
+                }
+            }
+        }
+    }
+
     public void setValue(ContainerResult value) {
+        svgWidth = value.svgWidth;
+        svgHeight = value.svgHeight;
         svgContent.setValue(value.svgContent.getValue());
         metadataContent.setValue(value.metadataContent.getValue());
         jsonContent.setValue(value.jsonContent.getValue());
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Batch export of diagrams to a directory, one SVG file and one metadata file per container, rendered in parallel on
+ * a bounded pool. Diagrams are written straight to their files, through temporary files so that an interrupted export
+ * leaves no truncated diagram.
+ * File names are made of the container id, with the characters not allowed in file names replaced, followed by a
+ * hash of the container id so that two containers never share a file. A small file next to the SVG file holds the
+ * container id. A container whose SVG file already exists, for the same container id, is skipped, hence an export
+ * which failed or was cancelled is resumed by running it again on the same directory. Failures do not stop the export; they are listed in the
+ * {@value #FAILURES_FILE_NAME} file of the directory.
+ * Does not depend on JavaFX, to be usable headless.
+ */
+public class DiagramExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiagramExporter.class);
+
+    public static final String FAILURES_FILE_NAME = "export-failures.txt";
+
+    private static final String SVG_EXTENSION = ".svg";
+    private static final String METADATA_SUFFIX = "_metadata.json";
+    private static final String ID_EXTENSION = ".id";
+
+    private static final int ID_HASH_LENGTH = 8;
+
+    /**
+     * Draws the diagram of a container into the given writers
+     */
+    @FunctionalInterface
+    public interface Drawer {
+        void draw(String containerId, Writer svgWriter, Writer metadataWriter) throws IOException;
+    }
+
+    /**
+     * Called from the export threads after each container, whether exported, skipped or failed
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int doneCount, int totalCount, String containerId);
+    }
+
+    /**
+     * @param failures error message by id of the containers which could not be exported
+     */
+    public record Summary(int exportedCount, int skippedCount, Map<String, String> failures, boolean cancelled) {
+    }
+
+    private final Path directory;
+
+    private final int parallelism;
+
+    public DiagramExporter(Path directory, int parallelism) {
+        this.directory = Objects.requireNonNull(directory);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public Summary export(List<String> containerIds, Drawer drawer, ProgressListener progressListener, BooleanSupplier cancelled)
+            throws IOException {
+        Files.createDirectories(directory);
+        AtomicInteger exportedCount = new AtomicInteger();
+        AtomicInteger skippedCount = new AtomicInteger();
+        AtomicInteger doneCount = new AtomicInteger();
+        Map<String, String> failures = new ConcurrentSkipListMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, containerIds.size())), runnable -> {
+            Thread thread = new Thread(runnable, "diagram-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(containerIds.size());
+            for (String containerId : containerIds) {
+                futures.add(executor.submit(() -> {
+                    if (cancelled.getAsBoolean()) {
+                        return;
+                    }
+                    try {
+                        if (exportDiagram(containerId, drawer)) {
+                            exportedCount.incrementAndGet();
+                        } else {
+                            skippedCount.incrementAndGet();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.warn("Cannot export diagram of {}: {}", containerId, e.toString());
+                        failures.put(containerId, e.toString());
+                    }
+                    progressListener.onProgress(doneCount.incrementAndGet(), containerIds.size(), containerId);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Export to " + directory + " interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        writeFailures(failures);
+        return new Summary(exportedCount.get(), skippedCount.get(), failures, cancelled.getAsBoolean());
+    }
+
+    /**
+     * @return true if exported, false if skipped as already exported
+     */
+    private boolean exportDiagram(String containerId, Drawer drawer) throws IOException {
+        String baseName = getBaseName(containerId);
+        Path svgFile = directory.resolve(baseName + SVG_EXTENSION);
+        Path idFile = directory.resolve(baseName + ID_EXTENSION);
+        if (isExported(svgFile, idFile, containerId)) {
+            return false;
+        }
+        Path metadataFile = directory.resolve(baseName + METADATA_SUFFIX);
+        Path tmpSvgFile = Files.createTempFile(directory, baseName, SVG_EXTENSION + ".tmp");
+        Path tmpMetadataFile = Files.createTempFile(directory, baseName, METADATA_SUFFIX + ".tmp");
+        try {
+            try (Writer svgWriter = Files.newBufferedWriter(tmpSvgFile, StandardCharsets.UTF_8);
+                 Writer metadataWriter = Files.newBufferedWriter(tmpMetadataFile, StandardCharsets.UTF_8)) {
+                drawer.draw(containerId, svgWriter, metadataWriter);
+            }
+            Files.writeString(idFile, containerId, StandardCharsets.UTF_8);
+            // SVG file moved last, as its presence marks the diagram as exported
+            Files.move(tmpMetadataFile, metadataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.move(tmpSvgFile, svgFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpSvgFile);
+            Files.deleteIfExists(tmpMetadataFile);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the SVG file exists and was exported for the given container
+     */
+    private static boolean isExported(Path svgFile, Path idFile, String containerId) throws IOException {
+        return Files.exists(svgFile) && Files.exists(idFile)
+                && Files.readString(idFile, StandardCharsets.UTF_8).equals(containerId);
+    }
+
+    private void writeFailures(Map<String, String> failures) throws IOException {
+        Path failuresFile = directory.resolve(FAILURES_FILE_NAME);
+        if (failures.isEmpty()) {
+            Files.deleteIfExists(failuresFile);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(failuresFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> failure : failures.entrySet()) {
+                writer.append(failure.getKey()).append('\t').append(failure.getValue()).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Container ids may contain characters which are not allowed in file names. As replacing them may give the same
+     * name for two ids, "VL 1" and "VL_1" for instance, as may case-insensitive file systems, a hash of the id is added.
+     */
+    static String getBaseName(String containerId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(containerId.getBytes(StandardCharsets.UTF_8));
+            return containerId.replaceAll("[^\\w.-]", "_") + "_" + HexFormat.of().formatHex(digest).substring(0, ID_HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -8,6 +8,7 @@
 package com.powsybl.diagram.viewer.common;
 
 import com.powsybl.iidm.network.Container;
+import com.powsybl.iidm.network.Network;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,14 +18,39 @@ import java.util.stream.Stream;
  * @author Thomas Adam <tadam at silicom.fr>
  */
 public class DiagramModel {
+    private static final int RESULT_CACHE_SIZE = 32;
+
+    /**
+     * Number of most recently used results kept uncompressed, covering the selected diagram and a few checked ones
+     */
+    private static final int RESULT_CACHE_PLAIN_COUNT = 4;
+
     private final ContainerResult selectedContainerResult = new ContainerResult();
 
+    private final DiagramResultCache resultCache = new DiagramResultCache(RESULT_CACHE_SIZE, RESULT_CACHE_PLAIN_COUNT);
+
+    private NetworkModificationCounter networkModificationCounter = new NetworkModificationCounter();
+
     private final Map<Container<?>, ContainerResult> containerToResultMap = new HashMap<>();
 
     public DiagramModel() {
         // Nothing to do
     }
 
+    public void setNetwork(Network network) {
+        resultCache.clear();
+        networkModificationCounter = new NetworkModificationCounter();
+        network.addListener(networkModificationCounter);
+    }
+
+    public long getNetworkModificationCount(String variantId) {
+        return networkModificationCounter.get(variantId);
+    }
+
+    public DiagramResultCache getResultCache() {
+        return resultCache;
+    }
+
     public ContainerResult getSelectedContainerResult() {
         return selectedContainerResult;
     }
@@ -44,5 +70,6 @@ public class DiagramModel {
     public void clean() {
         selectedContainerResult.clean();
         containerToResultMap.clear();
+        resultCache.clear();
     }
 }
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import javafx.application.Platform;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Executor shared by all the diagrams for their rendering, sized to the available cores.
+ * <p>
+ * Renderings of visible diagrams are run before the other ones. Only the latest rendering submitted for a given
+ * {@link ContainerResult} is kept: an older one is cancelled if not started yet, and its result is dropped otherwise.
+ * Callbacks are called on the JavaFX application thread.
+ */
+public final class DiagramRenderingScheduler {
+
+    public enum Priority {
+        VISIBLE,
+        BACKGROUND
+    }
+
+    private static final DiagramRenderingScheduler INSTANCE = new DiagramRenderingScheduler(Runtime.getRuntime().availableProcessors());
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<ContainerResult, RenderingTask> latestTasks = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private DiagramRenderingScheduler(int nbThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(nbThreads, nbThreads, 60, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "diagram-rendering-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static DiagramRenderingScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    public void submit(ContainerResult target, Priority priority, Callable<ContainerResult> rendering,
+                       Consumer<ContainerResult> onSucceeded, Consumer<Throwable> onFailed) {
+        RenderingTask task = new RenderingTask(target, priority, rendering, onSucceeded, onFailed);
+        RenderingTask previousTask = latestTasks.put(target, task);
+        if (previousTask != null) {
+            previousTask.cancel(false);
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * Cancels the pending rendering of the given result, if any
+     */
+    public void cancel(ContainerResult target) {
+        RenderingTask task = latestTasks.remove(target);
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private final class RenderingTask extends FutureTask<ContainerResult> implements Comparable<RenderingTask> {
+
+        private final ContainerResult target;
+        private final Priority priority;
+        private final long sequenceNumber = sequence.getAndIncrement();
+        private final Consumer<ContainerResult> onSucceeded;
+        private final Consumer<Throwable> onFailed;
+
+        private RenderingTask(ContainerResult target, Priority priority, Callable<ContainerResult> rendering,
+                              Consumer<ContainerResult> onSucceeded, Consumer<Throwable> onFailed) {
+            super(rendering);
+            this.target = target;
+            this.priority = priority;
+            this.onSucceeded = onSucceeded;
+            this.onFailed = onFailed;
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                ContainerResult result = get();
+                Platform.runLater(() -> {
+                    if (latestTasks.remove(target, this)) {
+                        onSucceeded.accept(result);
+                    }
+                });
+            } catch (ExecutionException e) {
+                Platform.runLater(() -> {
+                    if (latestTasks.remove(target, this)) {
+                        onFailed.accept(e.getCause());
+                    }
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public int compareTo(RenderingTask other) {
+            int cmp = priority.compareTo(other.priority);
+            return cmp != 0 ? cmp : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+}
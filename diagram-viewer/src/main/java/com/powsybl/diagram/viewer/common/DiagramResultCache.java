@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of rendered diagrams.
+ * A result is found again only if it was computed for the same container, with the same parameters and on the same
+ * state of the same network variant: switching back to a variant finds its diagrams again.
+ * The most recently used results, which are usually the displayed ones and share their strings with them, are kept
+ * as they are. A result is compressed once it leaves them, unless too small to be worth it. Compressed results are
+ * kept off-heap if the {@value #OFF_HEAP_PROPERTY} system property is set to true.
+ */
+public class DiagramResultCache {
+
+    public record Key(String containerId, List<Object> parameters, String variantId, long networkModificationCount) {
+    }
+
+    /**
+     * @param rawSize UTF-8 size of the compressed results before compression
+     * @param compressedSize size of the compressed results
+     * @param compressionNanos total time spent compressing results
+     */
+    public record CompressionStats(int plainCount, int compressedCount, long rawSize, long compressedSize, long compressionNanos) {
+    }
+
+    public static final String OFF_HEAP_PROPERTY = "powsybl.diagram-viewer.off-heap-results";
+
+    /**
+     * Results with fewer characters are never compressed
+     */
+    static final int MIN_COMPRESSED_LENGTH = 16 * 1024;
+
+    private static final class Entry {
+        private ContainerResult plainResult;
+        private CompressedContainerResult compressedResult;
+
+        private Entry(ContainerResult plainResult) {
+            this.plainResult = plainResult;
+        }
+    }
+
+    private final Map<Key, Entry> results;
+
+    private final int plainCount;
+
+    private final boolean offHeap = Boolean.getBoolean(OFF_HEAP_PROPERTY);
+
+    private long compressionNanos;
+
+    /**
+     * @param maxSize maximum number of results
+     * @param plainCount number of most recently used results kept uncompressed
+     */
+    public DiagramResultCache(int maxSize, int plainCount) {
+        this.plainCount = plainCount;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return a copy of the cached result, inflated if compressed, or null if not cached. To be called outside the
+     * JavaFX application thread.
+     */
+    public ContainerResult get(Key key) {
+        ContainerResult plainResult;
+        CompressedContainerResult compressedResult;
+        synchronized (this) {
+            Entry entry = results.get(key);
+            if (entry == null) {
+                return null;
+            }
+            plainResult = entry.plainResult;
+            compressedResult = entry.compressedResult;
+        }
+        if (plainResult != null) {
+            ContainerResult result = new ContainerResult();
+            result.setValue(plainResult);
+            return result;
+        }
+        return compressedResult.inflate();
+    }
+
+    /**
+     * Stores the given result, which must not be modified afterwards, and compresses the results leaving the most
+     * recently used ones. To be called outside the JavaFX application thread.
+     */
+    public void put(Key key, ContainerResult result) {
+        List<Entry> leavingEntries = new ArrayList<>();
+        synchronized (this) {
+            results.put(key, new Entry(result));
+            // Iteration from the least recently used
+            int index = 0;
+            for (Entry entry : results.values()) {
+                if (index++ < results.size() - plainCount && entry.plainResult != null
+                        && getLength(entry.plainResult) >= MIN_COMPRESSED_LENGTH) {
+                    leavingEntries.add(entry);
+                }
+            }
+        }
+        for (Entry entry : leavingEntries) {
+            compress(entry);
+        }
+    }
+
+    private void compress(Entry entry) {
+        ContainerResult plainResult;
+        synchronized (this) {
+            plainResult = entry.plainResult;
+            if (plainResult == null) {
+                // Already compressed by another thread
+                return;
+            }
+        }
+        long startNanos = System.nanoTime();
+        CompressedContainerResult compressedResult = CompressedContainerResult.of(plainResult, offHeap);
+        synchronized (this) {
+            compressionNanos += System.nanoTime() - startNanos;
+            if (entry.plainResult != null) {
+                entry.compressedResult = compressedResult;
+                entry.plainResult = null;
+            }
+        }
+    }
+
+    private static long getLength(ContainerResult result) {
+        return getLength(result.svgContentProperty().get())
+                + getLength(result.metadataContentProperty().get())
+                + getLength(result.jsonContentProperty().get());
+    }
+
+    private static long getLength(String s) {
+        return s != null ? s.length() : 0;
+    }
+
+    public synchronized List<ContainerResult> getPlainResults() {
+        return results.values().stream().filter(e -> e.plainResult != null).map(e -> e.plainResult).toList();
+    }
+
+    public synchronized List<CompressedContainerResult> getCompressedResults() {
+        return results.values().stream().filter(e -> e.compressedResult != null).map(e -> e.compressedResult).toList();
+    }
+
+    public synchronized CompressionStats getCompressionStats() {
+        List<CompressedContainerResult> compressedResults = getCompressedResults();
+        return new CompressionStats(results.size() - compressedResults.size(), compressedResults.size(),
+                compressedResults.stream().mapToLong(CompressedContainerResult::getUncompressedSize).sum(),
+                compressedResults.stream().mapToLong(CompressedContainerResult::getCompressedSize).sum(),
+                compressionNanos);
+    }
+
+    public synchronized void clear() {
+        results.clear();
+    }
+}
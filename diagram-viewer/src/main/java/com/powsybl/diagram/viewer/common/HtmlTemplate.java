@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import java.util.Objects;
+
+/**
+ * Html page embedding a svg, split once around its svg placeholder so that each rendering is a plain concatenation.
+ * This avoids copying the (possibly huge) svg several times, and any escaping issue with its content.
+ */
+public class HtmlTemplate {
+
+    private static final String SVG_PLACEHOLDER = "%__SVG__%";
+    private static final String JS_PLACEHOLDER = "%__JS__%";
+
+    private final String beforeSvg;
+    private final String afterSvg;
+
+    public HtmlTemplate(String html, String js) {
+        int svgIndex = html.indexOf(SVG_PLACEHOLDER);
+        if (svgIndex < 0) {
+            throw new IllegalArgumentException("No " + SVG_PLACEHOLDER + " placeholder in html template");
+        }
+        Objects.requireNonNull(js);
+        this.beforeSvg = html.substring(0, svgIndex).replace(JS_PLACEHOLDER, js);
+        this.afterSvg = html.substring(svgIndex + SVG_PLACEHOLDER.length()).replace(JS_PLACEHOLDER, js);
+    }
+
+    public String render(String svg) {
+        return new StringBuilder(beforeSvg.length() + svg.length() + afterSvg.length())
+                .append(beforeSvg)
+                .append(svg)
+                .append(afterSvg)
+                .toString();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import java.util.Arrays;
+
+/**
+ * Start offsets of the lines of a text, the text itself being referenced, not copied.
+ * Lines longer than the given maximum length are split.
+ */
+final class LineIndex {
+
+    private final CharSequence text;
+
+    // Start offset of each line, followed by the text length
+    private final int[] lineStarts;
+
+    private final int lineCount;
+
+    LineIndex(CharSequence text, int maxLineLength) {
+        this.text = text;
+        int length = text.length();
+        int[] starts = new int[Math.max(16, length / 40)];
+        int count = 0;
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) == '\n' || i - lineStart == maxLineLength) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = lineStart;
+                lineStart = text.charAt(i) == '\n' ? i + 1 : i;
+            }
+        }
+        if (lineStart < length || count == 0) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count + 1);
+            }
+            starts[count++] = lineStart;
+        }
+        lineStarts = Arrays.copyOf(starts, count + 1);
+        lineStarts[count] = length;
+        lineCount = length == 0 ? 0 : count;
+    }
+
+    int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return the given line, without its line break and carriage return
+     */
+    String getLine(int line) {
+        int start = lineStarts[line];
+        int end = lineStarts[line + 1];
+        while (end > start && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    int getLineOfOffset(int offset) {
+        int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * @return the estimated size in bytes of the index
+     */
+    long getSize() {
+        return 4L * lineStarts.length;
+    }
+}
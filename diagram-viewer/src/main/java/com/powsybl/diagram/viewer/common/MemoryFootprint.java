@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Rough estimates of the memory retained by the viewer components, without any instrumentation agent.
+ * Strings are counted once even if shared between several components, for instance between the selected and a
+ * checked diagram: the components listed first get the shared strings.
+ */
+public final class MemoryFootprint {
+
+    /**
+     * Estimated heap size of an identifiable of the in-memory network implementation, with a single variant, by kind of
+     * identifiable: including its terminals, limits and the topology objects it owns. Orders of magnitude only.
+     */
+    private static final long SWITCH_BYTES = 600;
+    private static final long BUS_BYTES = 700;
+    private static final long INJECTION_BYTES = 1500;
+    private static final long BRANCH_BYTES = 2800;
+    private static final long THREE_WINDINGS_TRANSFORMER_BYTES = 4500;
+    private static final long VOLTAGE_LEVEL_BYTES = 3000;
+    private static final long SUBSTATION_BYTES = 800;
+
+    /**
+     * Estimated heap size added to an identifiable by each variant after the first one: variant dependent attributes
+     * such as setpoints, flows or switch states
+     */
+    private static final long VARIANT_BYTES_PER_IDENTIFIABLE = 100;
+
+    /**
+     * Estimated native size of a DOM node in the web views. Order of magnitude only.
+     */
+    private static final long WEB_VIEW_BYTES_PER_NODE = 1000;
+
+    private static final long STRING_OVERHEAD = 40;
+
+    /**
+     * @param evictAction action freeing the memory of this component, or null if not evictable
+     */
+    public record Entry(String component, String details, long estimatedBytes, boolean onHeap, Runnable evictAction) {
+    }
+
+    private final Set<String> countedStrings = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @return a rough estimate of the heap size of the network, weighted by kind of identifiable and by variant count
+     */
+    public static long estimateNetworkSize(Network network) {
+        long variantBytes = (network.getVariantManager().getVariantIds().size() - 1) * VARIANT_BYTES_PER_IDENTIFIABLE;
+        long size = 0;
+        for (Identifiable<?> identifiable : network.getIdentifiables()) {
+            size += estimateIdentifiableSize(identifiable) + variantBytes;
+        }
+        return size;
+    }
+
+    static long estimateIdentifiableSize(Identifiable<?> identifiable) {
+        return switch (identifiable.getType()) {
+            case SWITCH -> SWITCH_BYTES;
+            case BUS, BUSBAR_SECTION -> BUS_BYTES;
+            case LINE, TIE_LINE, TWO_WINDINGS_TRANSFORMER, HVDC_LINE -> BRANCH_BYTES;
+            case THREE_WINDINGS_TRANSFORMER -> THREE_WINDINGS_TRANSFORMER_BYTES;
+            case VOLTAGE_LEVEL -> VOLTAGE_LEVEL_BYTES;
+            case SUBSTATION -> SUBSTATION_BYTES;
+            default -> INJECTION_BYTES;
+        };
+    }
+
+    public static long estimateWebViewSize(int nodeCount) {
+        return nodeCount * WEB_VIEW_BYTES_PER_NODE;
+    }
+
+    /**
+     * @return the estimated size of the given string, or 0 if already counted
+     */
+    public long estimateStringSize(String s) {
+        if (s == null || !countedStrings.add(s)) {
+            return 0;
+        }
+        // Compact strings: one byte per char if all chars are latin-1, two otherwise
+        int bytesPerChar = 1;
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_OVERHEAD + (long) s.length() * bytesPerChar;
+    }
+
+    public long estimateResultSize(ContainerResult result) {
+        return estimateStringSize(result.svgContentProperty().get())
+                + estimateStringSize(result.metadataContentProperty().get())
+                + estimateStringSize(result.jsonContentProperty().get());
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import com.powsybl.commons.extensions.Extension;
+import com.powsybl.iidm.network.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Network listener gathering the voltage levels containing the identifiables modified since the last poll, so that
+ * only the diagrams showing them are rendered again.
+ * Properties and extensions, which may change the diagrams too (labels, positions), are located through the
+ * identifiable holding them. Creations, removals and modifications which cannot be located in a voltage level mark the
+ * whole network as modified. Safe to be notified from any thread, a load flow thread for instance.
+ */
+public class NetworkChangeTracker extends DefaultNetworkListener {
+
+    /**
+     * @param all whether the whole network is to be considered as modified
+     * @param voltageLevelIds ids of the voltage levels containing modified identifiables, if not all modified
+     */
+    public record Changes(boolean all, Set<String> voltageLevelIds) {
+
+        public boolean isEmpty() {
+            return !all && voltageLevelIds.isEmpty();
+        }
+
+        /**
+         * @return true if the diagram of the given container, showing the container only, is affected by the changes
+         */
+        public boolean affects(Container<?> container) {
+            return all || switch (container.getContainerType()) {
+                case NETWORK -> !voltageLevelIds.isEmpty();
+                case SUBSTATION -> ((Substation) container).getVoltageLevelStream().anyMatch(v -> voltageLevelIds.contains(v.getId()));
+                case VOLTAGE_LEVEL -> voltageLevelIds.contains(container.getId());
+            };
+        }
+
+        /**
+         * @return true if a diagram showing the voltage levels accepted by the given filter is affected by the changes
+         */
+        public boolean affects(Network network, Predicate<VoltageLevel> voltageLevelFilter) {
+            return all || voltageLevelIds.stream()
+                    .map(network::getVoltageLevel)
+                    .anyMatch(v -> v != null && voltageLevelFilter.test(v));
+        }
+    }
+
+    private boolean allModified;
+
+    private Set<String> modifiedVoltageLevelIds = new HashSet<>();
+
+    /**
+     * @return the changes since the previous call
+     */
+    public synchronized Changes poll() {
+        Changes changes = new Changes(allModified, modifiedVoltageLevelIds);
+        allModified = false;
+        modifiedVoltageLevelIds = new HashSet<>();
+        return changes;
+    }
+
+    private synchronized void addModified(Identifiable<?> identifiable) {
+        if (allModified) {
+            return;
+        }
+        if (identifiable instanceof VoltageLevel voltageLevel) {
+            modifiedVoltageLevelIds.add(voltageLevel.getId());
+        } else if (identifiable instanceof Substation substation) {
+            substation.getVoltageLevelStream().forEach(v -> modifiedVoltageLevelIds.add(v.getId()));
+        } else if (identifiable instanceof Switch sw) {
+            modifiedVoltageLevelIds.add(sw.getVoltageLevel().getId());
+        } else if (identifiable instanceof Bus bus) {
+            modifiedVoltageLevelIds.add(bus.getVoltageLevel().getId());
+        } else if (identifiable instanceof Connectable<?> connectable) {
+            connectable.getTerminals().forEach(t -> modifiedVoltageLevelIds.add(t.getVoltageLevel().getId()));
+        } else if (identifiable instanceof Branch<?> branch) {
+            // Tie lines, which are not connectables themselves
+            modifiedVoltageLevelIds.add(branch.getTerminal1().getVoltageLevel().getId());
+            modifiedVoltageLevelIds.add(branch.getTerminal2().getVoltageLevel().getId());
+        } else if (identifiable instanceof HvdcLine hvdcLine) {
+            modifiedVoltageLevelIds.add(hvdcLine.getConverterStation1().getTerminal().getVoltageLevel().getId());
+            modifiedVoltageLevelIds.add(hvdcLine.getConverterStation2().getTerminal().getVoltageLevel().getId());
+        } else {
+            allModified = true;
+        }
+    }
+
+    @Override
+    public synchronized void onCreation(Identifiable<?> identifiable) {
+        allModified = true;
+    }
+
+    @Override
+    public synchronized void afterRemoval(String id) {
+        allModified = true;
+    }
+
+    private synchronized void addModified(Extension<?> extension) {
+        if (extension.getExtendable() instanceof Identifiable<?> identifiable) {
+            addModified(identifiable);
+        } else {
+            allModified = true;
+        }
+    }
+
+    @Override
+    public void onUpdate(Identifiable<?> identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+        addModified(identifiable);
+    }
+
+    @Override
+    public void onPropertyAdded(Identifiable<?> identifiable, String key, Object newValue) {
+        addModified(identifiable);
+    }
+
+    @Override
+    public void onPropertyReplaced(Identifiable<?> identifiable, String key, Object oldValue, Object newValue) {
+        addModified(identifiable);
+    }
+
+    @Override
+    public void onPropertyRemoved(Identifiable<?> identifiable, String key, Object oldValue) {
+        addModified(identifiable);
+    }
+
+    @Override
+    public void onExtensionCreation(Extension<?> extension) {
+        addModified(extension);
+    }
+
+    @Override
+    public void onExtensionAfterRemoval(Identifiable<?> identifiable, String extensionName) {
+        addModified(identifiable);
+    }
+
+    @Override
+    public void onExtensionUpdate(Extension<?> extension, String attribute, String variantId, Object oldValue, Object newValue) {
+        addModified(extension);
+    }
+}
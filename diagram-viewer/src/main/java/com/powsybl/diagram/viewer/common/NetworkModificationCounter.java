@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import com.powsybl.iidm.network.DefaultNetworkListener;
+import com.powsybl.iidm.network.Identifiable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network listener counting the modifications done on the network it is registered on.
+ * The count is used to know whether a diagram computed earlier is still up to date.
+ * Modifications of variant dependent attributes are counted per variant, so that modifying a variant does not make
+ * the diagrams of the other variants out of date.
+ */
+public class NetworkModificationCounter extends DefaultNetworkListener {
+
+    // Modifications affecting all the variants
+    private final AtomicLong count = new AtomicLong();
+
+    private final Map<String, AtomicLong> variantCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @return the modification count of the given variant, which only increases as long as the variant is modified
+     */
+    public long get(String variantId) {
+        AtomicLong variantCount = variantCounts.get(variantId);
+        return count.get() + (variantCount != null ? variantCount.get() : 0);
+    }
+
+    private void incrementVariantCount(String variantId) {
+        variantCounts.computeIfAbsent(variantId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void onCreation(Identifiable<?> identifiable) {
+        count.incrementAndGet();
+    }
+
+    @Override
+    public void afterRemoval(String id) {
+        count.incrementAndGet();
+    }
+
+    @Override
+    public void onUpdate(Identifiable<?> identifiable, String attribute, String variantId, Object oldValue, Object newValue) {
+        if (variantId != null) {
+            incrementVariantCount(variantId);
+        } else {
+            count.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onVariantCreated(String sourceVariantId, String targetVariantId) {
+        // A variant created again with the id of a removed one must not match the diagrams of the removed one
+        incrementVariantCount(targetVariantId);
+    }
+
+    @Override
+    public void onVariantOverwritten(String sourceVariantId, String targetVariantId) {
+        incrementVariantCount(targetVariantId);
+    }
+}
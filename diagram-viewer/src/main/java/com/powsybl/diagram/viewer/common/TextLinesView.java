@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+import java.util.Arrays;
+
+/**
+ * Read-only viewer of large texts, virtualized by lines: only the visible lines are laid out, and line strings are
+ * only created for them. The text itself is referenced, not copied.
+ * Lines longer than {@link #MAX_LINE_LENGTH} are split, so that a huge single-line content stays browsable.
+ */
+public class TextLinesView extends ListView<Integer> {
+
+    private static final int MAX_LINE_LENGTH = 2000;
+
+    private CharSequence text = "";
+
+    private LineIndex lineIndex = new LineIndex("", MAX_LINE_LENGTH);
+
+    private final LineIndexes lineIndexes = new LineIndexes();
+
+    /**
+     * List of line indexes without storage, item i being i
+     */
+    private final class LineIndexes extends ObservableListBase<Integer> {
+
+        @Override
+        public Integer get(int index) {
+            return index;
+        }
+
+        @Override
+        public int size() {
+            return lineIndex.getLineCount();
+        }
+
+        private void reset(int oldSize) {
+            beginChange();
+            if (oldSize > 0) {
+                nextRemove(0, Arrays.asList(new Integer[oldSize]));
+            }
+            if (size() > 0) {
+                nextAdd(0, size());
+            }
+            endChange();
+        }
+    }
+
+    public TextLinesView() {
+        setItems(lineIndexes);
+        setStyle("-fx-font-family: monospace");
+        setFixedCellSize(18);
+        getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Integer line, boolean empty) {
+                super.updateItem(line, empty);
+                setText(empty || line == null || line >= lineIndex.getLineCount() ? null : lineIndex.getLine(line));
+            }
+        });
+        addEventHandler(KeyEvent.KEY_PRESSED, event -> {
+            if (event.isShortcutDown() && event.getCode() == KeyCode.C) {
+                copySelectedLines();
+                event.consume();
+            }
+        });
+    }
+
+    public void setText(CharSequence newText) {
+        text = newText != null ? newText : "";
+        int oldLineCount = lineIndex.getLineCount();
+        lineIndex = new LineIndex(text, MAX_LINE_LENGTH);
+        getSelectionModel().clearSelection();
+        lineIndexes.reset(oldLineCount);
+        scrollTo(0);
+    }
+
+    /**
+     * @return the displayed text, not copied
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    public int getLength() {
+        return text.length();
+    }
+
+    public void clear() {
+        setText("");
+    }
+
+    /**
+     * @return the estimated size in bytes of the line index, the text being referenced only
+     */
+    public long getLineIndexSize() {
+        return lineIndex.getSize();
+    }
+
+    public int getLineOfOffset(int offset) {
+        return lineIndex.getLineOfOffset(offset);
+    }
+
+    /**
+     * Selects and scrolls to the lines containing the given range of characters
+     */
+    public void showRange(int start, int end) {
+        if (lineIndex.getLineCount() == 0) {
+            return;
+        }
+        int firstLine = getLineOfOffset(start);
+        int lastLine = getLineOfOffset(Math.max(start, end - 1));
+        getSelectionModel().clearSelection();
+        getSelectionModel().selectRange(firstLine, lastLine + 1);
+        scrollTo(Math.max(0, firstLine - 3));
+    }
+
+    private void copySelectedLines() {
+        StringBuilder copied = new StringBuilder();
+        getSelectionModel().getSelectedIndices().stream().sorted().forEach(line -> copied.append(lineIndex.getLine(line)).append('\n'));
+        ClipboardContent clipboardContent = new ClipboardContent();
+        clipboardContent.putString(copied.toString());
+        Clipboard.getSystemClipboard().setContent(clipboardContent);
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import javafx.concurrent.Task;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds all the matches of a pattern in a text, without copying the text.
+ * The result holds the start and end offsets of the matches, in a single array: start of match i at index 2i, end at
+ * index 2i+1. The text is read through a view checking for cancellation, so that a single slow match on a huge text
+ * is also interrupted.
+ */
+public class TextSearchTask extends Task<int[]> {
+
+    /**
+     * Above this number of matches the search stops, to bound the memory used by the offsets
+     */
+    public static final int MAX_MATCHES = 1_000_000;
+
+    private static final int CANCELLATION_CHECK_PERIOD = 64 * 1024;
+
+    private final Pattern pattern;
+
+    private final CharSequence text;
+
+    public TextSearchTask(Pattern pattern, CharSequence text) {
+        this.pattern = pattern;
+        this.text = text;
+    }
+
+    /**
+     * Text view throwing a {@link CancellationException} once the task is cancelled
+     */
+    private final class CancellableText implements CharSequence {
+
+        private int accessCount;
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++accessCount == CANCELLATION_CHECK_PERIOD) {
+                accessCount = 0;
+                if (isCancelled()) {
+                    throw new CancellationException("Search of " + pattern + " cancelled");
+                }
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    @Override
+    protected int[] call() {
+        int[] offsets = new int[64];
+        int count = 0;
+        Matcher matcher = pattern.matcher(new CancellableText());
+        while (count < 2 * MAX_MATCHES && matcher.find()) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * count);
+            }
+            offsets[count++] = matcher.start();
+            offsets[count++] = matcher.end();
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+}
@@ -9,6 +9,7 @@ package com.powsybl.diagram.viewer.nad;
 
 import com.powsybl.diagram.viewer.common.AbstractDiagramController;
 import com.powsybl.diagram.viewer.common.ContainerResult;
+import com.powsybl.diagram.viewer.common.DiagramRenderingScheduler;
 import com.powsybl.diagram.viewer.common.JsHandler;
 import com.powsybl.iidm.network.Container;
 import com.powsybl.iidm.network.Network;
@@ -17,8 +18,6 @@ import com.powsybl.iidm.network.VoltageLevel;
 import com.powsybl.nad.NadParameters;
 import com.powsybl.nad.NetworkAreaDiagram;
 import com.powsybl.nad.build.iidm.VoltageLevelFilter;
-import javafx.concurrent.Service;
-import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,54 +42,51 @@ public class NetworkAreaDiagramController extends AbstractDiagramController {
 
     public void createDiagram(Network network, NetworkAreaDiagramModel model, ContainerResult containerResult, Container<?> container) {
         super.createDiagram(container, containerResult);
-        updateDiagram(network, model, containerResult, container);
+        updateDiagram(network, model, containerResult, container, DiagramRenderingScheduler.Priority.VISIBLE);
     }
 
-    public static void updateDiagram(Network network, NetworkAreaDiagramModel model, ContainerResult containerResult, Container<?> container) {
-        Service<ContainerResult> nadService = new Service<>() {
-            @Override
-            protected Task<ContainerResult> createTask() {
-                return new Task<>() {
-                    @Override
-                    protected ContainerResult call() throws IOException {
-                        ContainerResult result = new ContainerResult();
-                        try (StringWriter svgWriter = new StringWriter();
-                             StringWriter metadataWriter = new StringWriter()) {
+    public static void updateDiagram(Network network, NetworkAreaDiagramModel model, ContainerResult containerResult, Container<?> container,
+                                     DiagramRenderingScheduler.Priority priority) {
+        NadParameters nadParameters = createNadParameters(network, model);
 
-                            Predicate<VoltageLevel> vls = getVoltageLevelFilter(network, model, container);
-                            NadParameters nadParameters = new NadParameters();
-                            nadParameters.setLayoutParameters(model.getLayoutParameters());
-                            nadParameters.setSvgParameters(model.getSvgParameters());
-                            nadParameters.setLayoutFactory(model.getLayoutFactory(network));
-                            nadParameters.setStyleProviderFactory(model.getStyleProviderFactory());
-                            nadParameters.setLabelProviderFactory(model.getLabelProviderFactory());
-                            NetworkAreaDiagram.draw(network, svgWriter, metadataWriter, nadParameters, vls);
+        int depth = model.getDepth();
+        DiagramRenderingScheduler.getInstance().submit(containerResult, priority, () -> {
+            ContainerResult result = new ContainerResult();
+            try (StringWriter svgWriter = new StringWriter();
+                 StringWriter metadataWriter = new StringWriter()) {
 
-                            svgWriter.flush();
-                            metadataWriter.flush();
+                Predicate<VoltageLevel> vls = getVoltageLevelFilter(network, depth, container);
+                NetworkAreaDiagram.draw(network, svgWriter, metadataWriter, nadParameters, vls);
 
-                            result.svgContentProperty().set(svgWriter.toString());
-                            result.metadataContentProperty().set(metadataWriter.toString());
-                        }
-                        return result;
-                    }
-                };
+                svgWriter.flush();
+                metadataWriter.flush();
+
+                result.svgContentProperty().set(svgWriter.toString());
+                result.metadataContentProperty().set(metadataWriter.toString());
+                result.computeSvgSize();
             }
-        };
+            return result;
+        }, containerResult::setValue, exception -> LOGGER.error(exception.toString(), exception));
+    }
 
-        nadService.setOnSucceeded(event -> containerResult.setValue((ContainerResult) event.getSource().getValue()));
-        nadService.setOnFailed(event -> {
-            Throwable exception = event.getSource().getException();
-            LOGGER.error(exception.toString(), exception);
-        });
-        nadService.start();
+    /**
+     * Parameters from the current model values, which can then be used outside the JavaFX application thread
+     */
+    static NadParameters createNadParameters(Network network, NetworkAreaDiagramModel model) {
+        NadParameters nadParameters = new NadParameters();
+        nadParameters.setLayoutParameters(model.getLayoutParameters());
+        nadParameters.setSvgParameters(model.getSvgParameters());
+        nadParameters.setLayoutFactory(model.getLayoutFactory(network));
+        nadParameters.setStyleProviderFactory(model.getStyleProviderFactory());
+        nadParameters.setLabelProviderFactory(model.getLabelProviderFactory());
+        return nadParameters;
     }
 
-    private static Predicate<VoltageLevel> getVoltageLevelFilter(Network network, NetworkAreaDiagramModel model, Container<?> container) {
+    public static Predicate<VoltageLevel> getVoltageLevelFilter(Network network, int depth, Container<?> container) {
         return switch (container.getContainerType()) {
             case NETWORK -> VoltageLevelFilter.NO_FILTER;
-            case SUBSTATION -> VoltageLevelFilter.createVoltageLevelsDepthFilter(network, ((Substation) container).getVoltageLevelStream().map(VoltageLevel::getId).toList(), model.getDepth());
-            case VOLTAGE_LEVEL -> VoltageLevelFilter.createVoltageLevelDepthFilter(network, container.getId(), model.getDepth());
+            case SUBSTATION -> VoltageLevelFilter.createVoltageLevelsDepthFilter(network, ((Substation) container).getVoltageLevelStream().map(VoltageLevel::getId).toList(), depth);
+            case VOLTAGE_LEVEL -> VoltageLevelFilter.createVoltageLevelDepthFilter(network, container.getId(), depth);
         };
     }
 }
@@ -7,10 +7,15 @@
  */
 package com.powsybl.diagram.viewer.nad;
 
+import com.powsybl.commons.PowsyblException;
 import com.powsybl.diagram.viewer.common.AbstractDiagramController;
 import com.powsybl.diagram.viewer.common.AbstractDiagramViewController;
+import com.powsybl.diagram.viewer.common.DiagramExporter;
+import com.powsybl.diagram.viewer.common.NetworkChangeTracker;
 import com.powsybl.iidm.network.Container;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.nad.NadParameters;
+import com.powsybl.nad.NetworkAreaDiagram;
 import com.powsybl.nad.svg.EdgeInfoEnum;
 import com.powsybl.nad.svg.SvgParameters;
 import javafx.beans.binding.BooleanBinding;
@@ -25,6 +30,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * @author Florian Dupuy <florian.dupuy at rte-france.com>
@@ -164,10 +170,41 @@ public class NetworkAreaDiagramViewController extends AbstractDiagramViewControl
     }
 
     public void updateAllDiagrams(Network network, Container<?> selectedContainer) {
-        if (selectedContainer != null) {
-            NetworkAreaDiagramController.updateDiagram(network, model, model.getSelectedContainerResult(), selectedContainer);
+        updateDiagrams(network, selectedContainer, container -> true);
+    }
+
+    /**
+     * Updates the diagrams showing a voltage level modified by the given changes, within the diagram depth
+     */
+    public void updateModifiedDiagrams(Network network, Container<?> selectedContainer, NetworkChangeTracker.Changes changes) {
+        int depth = model.getDepth();
+        updateDiagrams(network, selectedContainer,
+                container -> changes.affects(network, NetworkAreaDiagramController.getVoltageLevelFilter(network, depth, container)));
+    }
+
+    private void updateDiagrams(Network network, Container<?> selectedContainer, Predicate<Container<?>> filter) {
+        if (selectedContainer != null && filter.test(selectedContainer)) {
+            NetworkAreaDiagramController.updateDiagram(network, model, model.getSelectedContainerResult(), selectedContainer,
+                    getSelectedDiagramPriority());
         }
-        model.getCheckedContainerStream().forEach(container -> NetworkAreaDiagramController.updateDiagram(network, model, model.getCheckedContainerResult(container), container));
+        model.getCheckedContainerStream().filter(filter).forEach(container -> NetworkAreaDiagramController.updateDiagram(network, model, model.getCheckedContainerResult(container), container,
+                getCheckedDiagramPriority(container)));
+    }
+
+    /**
+     * @return a drawer of network area diagrams around the given containers with the current parameters, to be used
+     * outside the JavaFX application thread
+     */
+    public DiagramExporter.Drawer createExportDrawer(Network network) {
+        NadParameters nadParameters = NetworkAreaDiagramController.createNadParameters(network, model);
+        int depth = model.getDepth();
+        return (containerId, svgWriter, metadataWriter) -> {
+            if (!(network.getIdentifiable(containerId) instanceof Container<?> container)) {
+                throw new PowsyblException("Container '" + containerId + "' not found");
+            }
+            NetworkAreaDiagram.draw(network, svgWriter, metadataWriter, nadParameters,
+                    NetworkAreaDiagramController.getVoltageLevelFilter(network, depth, container));
+        };
     }
 
     public void createDiagram(Network network, Container<?> container) {
@@ -199,6 +236,7 @@ public class NetworkAreaDiagramViewController extends AbstractDiagramViewControl
         model.removeCheckedContainerResult(container);
     }
 
+    @Override
     public NetworkAreaDiagramModel getModel() {
         return model;
     }
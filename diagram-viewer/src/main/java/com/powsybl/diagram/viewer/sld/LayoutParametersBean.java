@@ -113,6 +113,25 @@ public class LayoutParametersBean {
         this.spaceForFeederInfos.addListener(changeListener);
     }
 
+    public List<Object> getFingerprint() {
+        return Arrays.asList(diagramPaddingTopBottom.get(),
+                diagramPaddingLeftRight.get(),
+                voltagePaddingTopBottom.get(),
+                voltagePaddingLeftRight.get(),
+                busbarVerticalSpace.get(),
+                busbarHorizontalSpace.get(),
+                cellWidth.get(),
+                externCellHeight.get(),
+                internCellHeight.get(),
+                stackHeight.get(),
+                disconnectorsOnBus.get(),
+                adaptCellHeightToContent.get(),
+                minSpaceBetweenComponents.get(),
+                minimumExternCellHeight.get(),
+                busBarAlignment.get(),
+                spaceForFeederInfos.get());
+    }
+
     public LayoutParameters getLayoutParameters() {
         return new LayoutParameters()
                 .setDiagrammPadding(diagramPaddingLeftRight.get(),
@@ -9,6 +9,8 @@ package com.powsybl.diagram.viewer.sld;
 
 import com.powsybl.diagram.viewer.common.AbstractDiagramController;
 import com.powsybl.diagram.viewer.common.ContainerResult;
+import com.powsybl.diagram.viewer.common.DiagramRenderingScheduler;
+import com.powsybl.diagram.viewer.common.DiagramResultCache;
 import com.powsybl.iidm.network.Container;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.Switch;
@@ -16,15 +18,15 @@ import com.powsybl.sld.SingleLineDiagram;
 import com.powsybl.sld.SldParameters;
 import com.powsybl.sld.layout.VoltageLevelLayoutFactoryCreator;
 import com.powsybl.sld.svg.styles.StyleProvider;
-import javafx.beans.property.StringProperty;
-import javafx.concurrent.Service;
-import javafx.concurrent.Task;
+import javafx.beans.value.ChangeListener;
 import javafx.fxml.FXML;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Thomas Adam <tadam at slicom.fr>
@@ -33,39 +35,53 @@ public class SingleLineDiagramController extends AbstractDiagramController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SingleLineDiagramController.class);
 
-    private StringProperty graphContent;
+    // Each diagram has its own handler, as the metadata and the switch callback depend on the diagram
+    private final SingleLineDiagramJsHandler jsHandler = new SingleLineDiagramJsHandler();
+
+    private final ChangeListener<String> metadataContentListener = (obs, oldV, newV) -> jsHandler.setMetadata(newV);
 
     @FXML
     private void initialize() throws IOException {
         super.init("sld");
-        graphContent = addAdditionalTab("Graph", "JSON file", "*.json");
+        addAdditionalTab("Graph", "JSON file", "*.json", ContainerResult::jsonContentProperty);
+        setUpListenerOnWebViewChanges(jsHandler);
     }
 
-    public void createDiagram(SingleLineDiagramJsHandler jsHandler,
+    /**
+     * @param switchOperatedListener called with the switch id once a switch is opened or closed from the diagram, in
+     *                               charge of updating the diagrams
+     */
+    public void createDiagram(Consumer<String> selectContainer,
+                              Consumer<String> switchOperatedListener,
                               Network network,
                               SingleLineDiagramModel model,
                               ContainerResult containerResult,
                               Container<?> container,
-                              VoltageLevelLayoutFactoryCreator voltageLevelLayoutFactoryCreator) {
+                              VoltageLevelLayoutFactoryCreator voltageLevelLayoutFactoryCreator,
+                              List<Object> voltageLevelLayoutFingerprint) {
+        ContainerResult previousContainerResult = getContainerResult();
+        if (previousContainerResult != null) {
+            previousContainerResult.metadataContentProperty().removeListener(metadataContentListener);
+        }
         super.createDiagram(container, containerResult);
 
         // JSHandler management
+        jsHandler.setSelectContainer(selectContainer);
         jsHandler.setOperateSwitch(swId -> {
             Switch sw = network.getSwitch(swId);
             if (sw != null) {
                 sw.setOpen(!sw.isOpen());
                 StyleProvider styleProvider = model.getStyleProvider(network, model.getSvgParameters());
                 styleProvider.reset();
-                updateDiagram(network, model, containerResult, container, voltageLevelLayoutFactoryCreator);
+                // This diagram is updated with all the others showing the switch
+                switchOperatedListener.accept(swId);
             }
         });
-        setUpListenerOnWebViewChanges(jsHandler);
-        containerResult.metadataContentProperty().addListener((obs, oldV, newV) -> jsHandler.setMetadata(containerResult.metadataContentProperty().get()));
-
-        // Metadata & Graph binding
-        graphContent.bind(containerResult.jsonContentProperty());
+        jsHandler.setMetadata(containerResult.metadataContentProperty().get());
+        containerResult.metadataContentProperty().addListener(metadataContentListener);
 
-        updateDiagram(network, model, containerResult, container, voltageLevelLayoutFactoryCreator);
+        updateDiagram(network, model, containerResult, container, voltageLevelLayoutFactoryCreator, voltageLevelLayoutFingerprint,
+                DiagramRenderingScheduler.Priority.VISIBLE);
     }
 
     public static void updateDiagram(Network network,
@@ -73,53 +89,65 @@ public class SingleLineDiagramController extends AbstractDiagramController {
                                      ContainerResult containerResult,
                                      Container<?> container,
                                      // PositionVoltageLevelLayoutFactory
-                                     VoltageLevelLayoutFactoryCreator voltageLevelLayoutFactoryCreator) {
+                                     VoltageLevelLayoutFactoryCreator voltageLevelLayoutFactoryCreator,
+                                     List<Object> voltageLevelLayoutFingerprint,
+                                     DiagramRenderingScheduler.Priority priority) {
 
         if (container instanceof Network) {
             return;
         }
-        Service<ContainerResult> sldService = new Service<>() {
-            @Override
-            protected Task<ContainerResult> createTask() {
-                return new Task<>() {
-                    @Override
-                    protected ContainerResult call() throws IOException {
-                        ContainerResult result = new ContainerResult();
-                        try (StringWriter svgWriter = new StringWriter();
-                             StringWriter metadataWriter = new StringWriter();
-                             StringWriter jsonWriter = new StringWriter()) {
-
-                            SldParameters sldParameters = new SldParameters()
-                                    .setLayoutParameters(model.getLayoutParameters())
-                                    .setSvgParameters(model.getSvgParameters())
-                                    .setComponentLibrary(model.getComponentLibrary())
-                                    .setSubstationLayoutFactory(model.getSubstationLayoutFactory())
-                                    .setStyleProviderFactory(model::getStyleProvider)
-                                    .setVoltageLevelLayoutFactoryCreator(voltageLevelLayoutFactoryCreator);
-
-                            SingleLineDiagram.draw(network, container.getId(),
-                                    svgWriter,
-                                    metadataWriter,
-                                    sldParameters);
-
-                            svgWriter.flush();
-                            metadataWriter.flush();
-                            result.svgContentProperty().set(svgWriter.toString());
-                            result.metadataContentProperty().set(metadataWriter.toString());
-                            result.jsonContentProperty().set(jsonWriter.toString());
-                        }
-                        return result;
-                    }
-                };
-            }
-        };
 
-        sldService.setOnSucceeded(event -> containerResult.setValue((ContainerResult) event.getSource().getValue()));
-        sldService.setOnFailed(event -> {
-            Throwable exception = event.getSource().getException();
+        // Diagram already rendered with the same parameters on the same network variant state
+        String variantId = network.getVariantManager().getWorkingVariantId();
+        DiagramResultCache.Key cacheKey = new DiagramResultCache.Key(container.getId(),
+                List.of(model.getParametersFingerprint(), voltageLevelLayoutFingerprint),
+                variantId, model.getNetworkModificationCount(variantId));
+        SldParameters sldParameters = createSldParameters(model, voltageLevelLayoutFactoryCreator);
+
+        DiagramRenderingScheduler.getInstance().submit(containerResult, priority, () -> {
+            // Looked up in background, as a compressed result has to be inflated
+            ContainerResult cachedResult = model.getResultCache().get(cacheKey);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+            ContainerResult result = new ContainerResult();
+            try (StringWriter svgWriter = new StringWriter();
+                 StringWriter metadataWriter = new StringWriter();
+                 StringWriter jsonWriter = new StringWriter()) {
+
+                SingleLineDiagram.draw(network, container.getId(),
+                        svgWriter,
+                        metadataWriter,
+                        sldParameters);
+
+                svgWriter.flush();
+                metadataWriter.flush();
+                result.svgContentProperty().set(svgWriter.toString());
+                result.metadataContentProperty().set(metadataWriter.toString());
+                result.computeSvgSize();
+                result.jsonContentProperty().set(jsonWriter.toString());
+            }
+            // Not cached if drawn while switching to another variant
+            if (variantId.equals(network.getVariantManager().getWorkingVariantId())) {
+                model.getResultCache().put(cacheKey, result);
+            }
+            return result;
+        }, containerResult::setValue, exception -> {
             containerResult.clean();
             LOGGER.error("Error while drawing single-line diagram {}", container.getId(), exception);
         });
-        sldService.start();
+    }
+
+    /**
+     * Parameters from the current model values, which can then be used outside the JavaFX application thread
+     */
+    static SldParameters createSldParameters(SingleLineDiagramModel model, VoltageLevelLayoutFactoryCreator voltageLevelLayoutFactoryCreator) {
+        return new SldParameters()
+                .setLayoutParameters(model.getLayoutParameters())
+                .setSvgParameters(model.getSvgParameters())
+                .setComponentLibrary(model.getComponentLibrary())
+                .setSubstationLayoutFactory(model.getSubstationLayoutFactory())
+                .setStyleProviderFactory(model.getStyleProviderSnapshot()::apply)
+                .setVoltageLevelLayoutFactoryCreator(voltageLevelLayoutFactoryCreator);
     }
 }
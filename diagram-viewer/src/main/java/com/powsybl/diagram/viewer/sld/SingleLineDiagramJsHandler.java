@@ -8,10 +8,8 @@
 package com.powsybl.diagram.viewer.sld;
 
 import com.powsybl.diagram.viewer.common.JsHandler;
-import com.powsybl.iidm.network.Container;
 import com.powsybl.sld.svg.GraphMetadata;
-import javafx.scene.control.TreeItem;
-import javafx.scene.control.TreeView;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
@@ -20,15 +18,13 @@ import java.util.function.Consumer;
 
 public class SingleLineDiagramJsHandler extends JsHandler {
 
-    private final TreeView<Container<?>> substationsTree;
+    private Consumer<String> selectContainer;
 
     private Consumer<String> operateSwitch;
 
-    private String metadata;
+    private String metadataContent;
 
-    public SingleLineDiagramJsHandler(TreeView<Container<?>> substationsTree) {
-        this.substationsTree = substationsTree;
-    }
+    private GraphMetadata metadata;
 
     /**
      * Called when the JS side detect sld-breaker or sld-disconnector selection.
@@ -36,11 +32,12 @@ public class SingleLineDiagramJsHandler extends JsHandler {
      */
     public void handleSwitchPositionChange(String svgId) {
         // Get SwitchId from svgId using metadata
-        GraphMetadata graphMetadata = GraphMetadata.parseJson(new ByteArrayInputStream(this.metadata.getBytes(StandardCharsets.UTF_8)));
-        GraphMetadata.NodeMetadata node = graphMetadata.getNodeMetadata(svgId);
-        String swId = node.getEquipmentId();
-        // Execute action on switch
-        operateSwitch.accept(swId);
+        GraphMetadata.NodeMetadata node = getNodeMetadata(svgId);
+        if (Objects.nonNull(node)) {
+            String swId = node.getEquipmentId();
+            // Execute action on switch
+            operateSwitch.accept(swId);
+        }
     }
 
     /**
@@ -48,41 +45,31 @@ public class SingleLineDiagramJsHandler extends JsHandler {
      * @param svgId the svg identity of svg element selected
      */
     public void handleSelectionChange(String svgId) {
-        GraphMetadata graphMetadata = GraphMetadata.parseJson(new ByteArrayInputStream(this.metadata.getBytes(StandardCharsets.UTF_8)));
-        GraphMetadata.NodeMetadata node = graphMetadata.getNodeMetadata(svgId);
-        if (Objects.nonNull(node)) {
-            this.substationsTree.getRoot().getChildren().forEach(child -> {
-                TreeItem<Container<?>> found = findTreeViewItem(child, node.getNextVId());
-                if (found != null) {
-                    this.substationsTree.getSelectionModel().select(found);
-                    this.substationsTree.scrollTo(this.substationsTree.getSelectionModel().getSelectedIndex());
-                }
-            });
+        GraphMetadata.NodeMetadata node = getNodeMetadata(svgId);
+        if (Objects.nonNull(node) && Objects.nonNull(node.getNextVId())) {
+            selectContainer.accept(node.getNextVId());
         }
     }
 
+    private GraphMetadata.NodeMetadata getNodeMetadata(String svgId) {
+        if (metadata == null && !StringUtils.isBlank(metadataContent)) {
+            metadata = GraphMetadata.parseJson(new ByteArrayInputStream(metadataContent.getBytes(StandardCharsets.UTF_8)));
+        }
+        return metadata != null ? metadata.getNodeMetadata(svgId) : null;
+    }
+
     /**
-     * Recursive search into TreeView
-     * @param item tree item
-     * @param vlId voltageLevel id
+     * The metadata is parsed on the first click only, once per rendering, so that re-rendering a diagram nobody
+     * clicks on costs no parsing
      */
-    private TreeItem<Container<?>> findTreeViewItem(TreeItem<Container<?>> item, String vlId) {
-        if (item != null) {
-            if (Objects.equals(item.getValue().getId(), vlId)) {
-                return item;
-            }
-            for (TreeItem<Container<?>> child : item.getChildren()) {
-                TreeItem<Container<?>> s = findTreeViewItem(child, vlId);
-                if (s != null) {
-                    return s;
-                }
-            }
-        }
-        return null;
+    public SingleLineDiagramJsHandler setMetadata(String metadataContent) {
+        this.metadataContent = metadataContent;
+        this.metadata = null;
+        return this;
     }
 
-    public SingleLineDiagramJsHandler setMetadata(String metadata) {
-        this.metadata = metadata;
+    public SingleLineDiagramJsHandler setSelectContainer(Consumer<String> selectContainer) {
+        this.selectContainer = selectContainer;
         return this;
     }
 
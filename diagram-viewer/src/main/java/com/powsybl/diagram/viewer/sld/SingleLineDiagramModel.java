@@ -24,6 +24,7 @@ import javafx.collections.ObservableList;
 import javafx.util.StringConverter;
 
 import java.util.*;
+import java.util.function.BiFunction;
 
 /**
  * @author Thomas Adam <tadam at silicom.fr>
@@ -221,6 +222,27 @@ public class SingleLineDiagramModel extends DiagramModel {
         return svgParametersBean.getSvgParameters(currentCgmesDLDiagramName.get());
     }
 
+    /**
+     * Values of all the parameters the rendering depends on, apart from the voltage level layout.
+     * Two renderings with equal fingerprints on the same network state give the same diagram.
+     */
+    public List<Object> getParametersFingerprint() {
+        return Arrays.asList(layoutParametersBean.getFingerprint(),
+                svgParametersBean.getFingerprint(),
+                currentCgmesDLDiagramName.get(),
+                currentComponentLibrary.get(),
+                currentSubstationLayoutFactory.get(),
+                cgmesScaleFactor.getValue(),
+                basicStyleProvider.get(),
+                nominalStyleProvider.get(),
+                animatedStyleProvider.get(),
+                animationThreshold1.getValue(),
+                animationThreshold2.getValue(),
+                highlightLineStateStyleProvider.get(),
+                highlightLimitStyleProvider.get(),
+                topologicalStyleProvider.get());
+    }
+
     public SvgParametersBean getSvgParametersBean() {
         return svgParametersBean;
     }
@@ -230,29 +252,43 @@ public class SingleLineDiagramModel extends DiagramModel {
     }
 
     public StyleProvider getStyleProvider(Network network, SvgParameters svgParameters) {
-        List<StyleProvider> styles = new ArrayList<>();
+        return getStyleProviderSnapshot().apply(network, svgParameters);
+    }
+
+    /**
+     * Style provider creation based on the current selection of style providers, which can then be used outside the
+     * JavaFX application thread without being affected by later selection changes.
+     */
+    public BiFunction<Network, SvgParameters, StyleProvider> getStyleProviderSnapshot() {
+        List<BiFunction<Network, SvgParameters, StyleProvider>> styleFactories = new ArrayList<>();
         if (this.basicStyleProvider.get()) {
-            styles.add(new BasicStyleProvider());
+            styleFactories.add((network, svgParameters) -> new BasicStyleProvider());
         }
         if (this.nominalStyleProvider.get()) {
-            styles.add(new NominalVoltageStyleProvider());
+            styleFactories.add((network, svgParameters) -> new NominalVoltageStyleProvider());
         }
         if (this.animatedStyleProvider.get()) {
-            styles.add(new AnimatedFeederInfoStyleProvider(this.animationThreshold1.getValue(), this.animationThreshold2.getValue()));
+            double threshold1 = this.animationThreshold1.getValue();
+            double threshold2 = this.animationThreshold2.getValue();
+            styleFactories.add((network, svgParameters) -> new AnimatedFeederInfoStyleProvider(threshold1, threshold2));
         }
         if (this.highlightLineStateStyleProvider.get()) {
-            styles.add(new HighlightLineStateStyleProvider(network));
+            styleFactories.add((network, svgParameters) -> new HighlightLineStateStyleProvider(network));
         }
         if (this.highlightLimitStyleProvider.get()) {
-            styles.add(new LimitHighlightStyleProvider(network));
+            styleFactories.add((network, svgParameters) -> new LimitHighlightStyleProvider(network));
         }
         if (this.topologicalStyleProvider.get()) {
-            styles.add(new TopologicalStyleProvider(network, svgParameters));
+            styleFactories.add(TopologicalStyleProvider::new);
         }
-        if (styles.isEmpty()) {
-            styles.add(new EmptyStyleProvider());
-        }
-        return new StyleProvidersList(styles);
+        return (network, svgParameters) -> {
+            List<StyleProvider> styles = new ArrayList<>();
+            styleFactories.forEach(styleFactory -> styles.add(styleFactory.apply(network, svgParameters)));
+            if (styles.isEmpty()) {
+                styles.add(new EmptyStyleProvider());
+            }
+            return new StyleProvidersList(styles);
+        };
     }
 
     public SubstationLayoutFactory getSubstationLayoutFactory() {
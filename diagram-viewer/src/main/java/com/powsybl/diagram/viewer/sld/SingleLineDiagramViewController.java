@@ -9,8 +9,12 @@ package com.powsybl.diagram.viewer.sld;
 
 import com.powsybl.diagram.viewer.common.AbstractDiagramController;
 import com.powsybl.diagram.viewer.common.AbstractDiagramViewController;
+import com.powsybl.diagram.viewer.common.DiagramExporter;
+import com.powsybl.diagram.viewer.common.NetworkChangeTracker;
 import com.powsybl.iidm.network.Container;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.sld.SingleLineDiagram;
+import com.powsybl.sld.SldParameters;
 import com.powsybl.sld.cgmes.dl.iidm.extensions.NetworkDiagramData;
 import com.powsybl.sld.cgmes.layout.CgmesVoltageLevelLayoutFactory;
 import com.powsybl.sld.layout.*;
@@ -30,7 +34,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * @author Thomas Adam <tadam at silicom.fr>
@@ -197,6 +205,9 @@ public class SingleLineDiagramViewController extends AbstractDiagramViewControll
 
     private SingleLineDiagramModel model;
 
+    private Consumer<String> switchOperatedListener = switchId -> {
+    };
+
     @FXML
     private void initialize() {
         model = new SingleLineDiagramModel(
@@ -301,18 +312,40 @@ public class SingleLineDiagramViewController extends AbstractDiagramViewControll
     }
 
     public void updateAllDiagrams(Network network, Container<?> selectedContainer) {
-        if (selectedContainer != null) {
+        updateDiagrams(network, selectedContainer, container -> true);
+    }
+
+    /**
+     * Updates the diagrams showing a voltage level modified by the given changes
+     */
+    public void updateModifiedDiagrams(Network network, Container<?> selectedContainer, NetworkChangeTracker.Changes changes) {
+        updateDiagrams(network, selectedContainer, changes::affects);
+    }
+
+    private void updateDiagrams(Network network, Container<?> selectedContainer, Predicate<Container<?>> filter) {
+        if (selectedContainer != null && filter.test(selectedContainer)) {
             SingleLineDiagramController.updateDiagram(network, model, model.getSelectedContainerResult(), selectedContainer,
-                    getVoltageLevelLayoutFactoryCreator());
+                    getVoltageLevelLayoutFactoryCreator(), getVoltageLevelLayoutFingerprint(), getSelectedDiagramPriority());
         }
-        model.getCheckedContainerStream().forEach(container -> SingleLineDiagramController.updateDiagram(network, model, model.getCheckedContainerResult(container), container, getVoltageLevelLayoutFactoryCreator()));
+        model.getCheckedContainerStream().filter(filter).forEach(container -> SingleLineDiagramController.updateDiagram(network, model, model.getCheckedContainerResult(container), container,
+                getVoltageLevelLayoutFactoryCreator(), getVoltageLevelLayoutFingerprint(), getCheckedDiagramPriority(container)));
+    }
+
+    /**
+     * @return a drawer of single-line diagrams with the current parameters, to be used outside the JavaFX application
+     * thread
+     */
+    public DiagramExporter.Drawer createExportDrawer(Network network) {
+        SldParameters sldParameters = SingleLineDiagramController.createSldParameters(model, getVoltageLevelLayoutFactoryCreator());
+        return (containerId, svgWriter, metadataWriter) -> SingleLineDiagram.draw(network, containerId, svgWriter, metadataWriter, sldParameters);
     }
 
-    public void createDiagram(SingleLineDiagramJsHandler jsHandler, Network network, Container<?> container) {
-        selectedDiagramController.createDiagram(jsHandler, network, model, model.getSelectedContainerResult(), container, getVoltageLevelLayoutFactoryCreator());
+    public void createDiagram(Consumer<String> selectContainer, Network network, Container<?> container) {
+        selectedDiagramController.createDiagram(selectContainer, switchOperatedListener, network, model, model.getSelectedContainerResult(), container,
+                getVoltageLevelLayoutFactoryCreator(), getVoltageLevelLayoutFingerprint());
     }
 
-    public void createCheckedTab(SingleLineDiagramJsHandler jsHandler,
+    public void createCheckedTab(Consumer<String> selectContainer,
                                  Network network,
                                  CheckBoxTreeItem<Container<?>> containerTreeItem,
                                  String tabName) {
@@ -321,18 +354,28 @@ public class SingleLineDiagramViewController extends AbstractDiagramViewControll
             FXMLLoader fxmlLoader = new FXMLLoader();
             Parent diagram = fxmlLoader.load(Objects.requireNonNull(getClass().getResourceAsStream("/sld/singleLineDiagramView.fxml")));
             SingleLineDiagramController checkedDiagramController = fxmlLoader.getController();
-            checkedDiagramController.createDiagram(jsHandler,
+            checkedDiagramController.createDiagram(selectContainer,
+                    switchOperatedListener,
                     network,
                     model,
                     model.getCheckedContainerResult(container),
                     container,
-                    getVoltageLevelLayoutFactoryCreator());
+                    getVoltageLevelLayoutFactoryCreator(),
+                    getVoltageLevelLayoutFingerprint());
             super.createCheckedTab(containerTreeItem, tabName, diagram, checkedDiagramController);
         } catch (IOException e) {
             LOGGER.error(e.toString(), e);
         }
     }
 
+    /**
+     * @param switchOperatedListener called with the switch id once a switch is opened or closed from any diagram, in
+     *                               charge of updating the diagrams
+     */
+    public void setSwitchOperatedListener(Consumer<String> switchOperatedListener) {
+        this.switchOperatedListener = Objects.requireNonNull(switchOperatedListener);
+    }
+
     @Override
     protected void removeCheckedDiagram(Tab tab, Container<?> container) {
         super.removeCheckedDiagram(tab, container);
@@ -340,6 +383,7 @@ public class SingleLineDiagramViewController extends AbstractDiagramViewControll
         model.removeCheckedContainerResult(container);
     }
 
+    @Override
     public SingleLineDiagramModel getModel() {
         return model;
     }
@@ -396,4 +440,19 @@ public class SingleLineDiagramViewController extends AbstractDiagramViewControll
             case CGMES -> network -> new CgmesVoltageLevelLayoutFactory(network, cgmesDLDiagramsComboBox.getValue(), cgmesScaleFactorSpinner.getValue());
         };
     }
+
+    /**
+     * Values of the settings {@link #getVoltageLevelLayoutFactoryCreator()} depends on
+     */
+    public List<Object> getVoltageLevelLayoutFingerprint() {
+        return Arrays.asList(voltageLevelLayoutComboBox.getValue(),
+                stackFeedersCheckBox.isSelected(),
+                exceptionWhenPatternUnhandledCheckBox.isSelected(),
+                handleShuntsCheckBox.isSelected(),
+                removeFictitiousNodesCheckBox.isSelected(),
+                substituteSingularFictitiousNodesCheckBox.isSelected(),
+                substituteInternalMiddle2wtByEquipmentNodesCheckBox.isSelected(),
+                cgmesDLDiagramsComboBox.getValue(),
+                cgmesScaleFactorSpinner.getValue());
+    }
 }
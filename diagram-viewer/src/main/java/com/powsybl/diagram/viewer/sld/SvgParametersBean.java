@@ -11,6 +11,9 @@ import com.powsybl.sld.svg.SvgParameters;
 import javafx.beans.property.*;
 import javafx.beans.value.ChangeListener;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * @author Sophie Frasnedo <sophie.frasnedo at rte-france.com>
  */
@@ -106,6 +109,24 @@ public class SvgParametersBean {
         this.feederInfosIntraMargin.addListener(changeListener);
     }
 
+    public List<Object> getFingerprint() {
+        return Arrays.asList(useName.get(),
+                showGrid.get(),
+                showInternalNodes.get(),
+                drawStraightWires.get(),
+                avoidSVGComponentsDuplication.get(),
+                centerLabel.get(),
+                labelDiagonal.get(),
+                displayEquipmentNodesLabel.get(),
+                displayConnectivityNodesId.get(),
+                angleLabel.get(),
+                busesLegendAdded.get(),
+                feederInfoSymmetry.get(),
+                unifyVlColors.get(),
+                feederInfosOuterMargin.get(),
+                feederInfosIntraMargin.get());
+    }
+
     public SvgParameters getSvgParameters(String diagramName) {
         return new SvgParameters()
                 .setShowGrid(showGrid.get())
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+
+/**
+ * Replaces the displayed svg by the given one, only modifying the nodes which differ.
+ * Returns false if the given svg cannot be parsed, in which case the displayed svg is left untouched.
+ */
+function patchSvg(newSvg) {
+    var oldRoot = document.body.querySelector('svg');
+    var newRoot = new DOMParser().parseFromString(newSvg, 'image/svg+xml').documentElement;
+    if (!oldRoot || !newRoot || newRoot.nodeName !== 'svg' || newRoot.getElementsByTagName('parsererror').length > 0) {
+        return false;
+    }
+    patchNode(oldRoot, newRoot);
+    return true;
+}
+
+function isCharacterData(node) {
+    return node.nodeType === Node.TEXT_NODE || node.nodeType === Node.CDATA_SECTION_NODE;
+}
+
+function patchNode(oldNode, newNode) {
+    if (isCharacterData(oldNode) && isCharacterData(newNode)) {
+        if (oldNode.nodeValue !== newNode.nodeValue) {
+            oldNode.nodeValue = newNode.nodeValue;
+        }
+        return;
+    }
+    if (oldNode.nodeType !== Node.ELEMENT_NODE || oldNode.nodeType !== newNode.nodeType
+            || oldNode.localName !== newNode.localName || oldNode.getAttribute('id') !== newNode.getAttribute('id')) {
+        oldNode.parentNode.replaceChild(document.importNode(newNode, true), oldNode);
+        return;
+    }
+    patchAttributes(oldNode, newNode);
+    patchChildren(oldNode, newNode);
+}
+
+function getKey(node) {
+    return node.nodeType === Node.ELEMENT_NODE && node.hasAttribute('id') ? node.getAttribute('id') : null;
+}
+
+/**
+ * Children are matched by id, children without id being matched by position among the children without id, so that
+ * an inserted or removed child does not replace all its following siblings. Matched children are moved to their
+ * new position if needed, unmatched old children are removed.
+ */
+function patchChildren(oldParent, newParent) {
+    var oldChildren = oldParent.childNodes;
+    var newChildren = newParent.childNodes;
+    var oldByKey = new Map();
+    var oldUnkeyed = [];
+    var i;
+    var key;
+    for (i = 0; i < oldChildren.length; i++) {
+        key = getKey(oldChildren[i]);
+        if (key === null) {
+            oldUnkeyed.push(oldChildren[i]);
+        } else if (!oldByKey.has(key)) {
+            oldByKey.set(key, oldChildren[i]);
+        }
+    }
+    var nextUnkeyed = 0;
+    // Array copy, as the new children list is live and patching may import nodes
+    var newChildrenArray = Array.prototype.slice.call(newChildren);
+    for (i = 0; i < newChildrenArray.length; i++) {
+        var newChild = newChildrenArray[i];
+        var oldChild;
+        key = getKey(newChild);
+        if (key === null) {
+            oldChild = nextUnkeyed < oldUnkeyed.length ? oldUnkeyed[nextUnkeyed++] : null;
+        } else {
+            oldChild = oldByKey.get(key) || null;
+            oldByKey.delete(key);
+        }
+        var reference = i < oldChildren.length ? oldChildren[i] : null;
+        if (oldChild === null) {
+            oldParent.insertBefore(document.importNode(newChild, true), reference);
+        } else {
+            if (oldChild !== reference) {
+                oldParent.insertBefore(oldChild, reference);
+            }
+            patchNode(oldChild, newChild);
+        }
+    }
+    // Unmatched old children are all after the patched ones
+    while (oldChildren.length > newChildrenArray.length) {
+        oldParent.removeChild(oldParent.lastChild);
+    }
+}
+
+function patchAttributes(oldElement, newElement) {
+    var i;
+    var attribute;
+    for (i = oldElement.attributes.length - 1; i >= 0; i--) {
+        attribute = oldElement.attributes[i];
+        if (!newElement.hasAttributeNS(attribute.namespaceURI, attribute.localName)) {
+            oldElement.removeAttributeNS(attribute.namespaceURI, attribute.localName);
+        }
+    }
+    for (i = 0; i < newElement.attributes.length; i++) {
+        attribute = newElement.attributes[i];
+        if (oldElement.getAttributeNS(attribute.namespaceURI, attribute.localName) !== attribute.value) {
+            oldElement.setAttributeNS(attribute.namespaceURI, attribute.name, attribute.value);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.diagram.viewer.MainViewController.ComponentFilterType;
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContainerFilterIndexTest {
+
+    private Network network;
+    private ContainerFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        network = EurostagTutorialExample1Factory.create();
+        network.getVoltageLevel("VLGEN").setName("Generation site");
+        index = ContainerFilterIndex.build(network);
+    }
+
+    @Test
+    void testFindMatchesById() {
+        assertEquals(Set.of("VLHV1", "VLHV2"), index.findMatches("vlh", false));
+        assertEquals(Set.of("VLHV1"), index.findMatches("hv1", false));
+        assertEquals(Set.of(), index.findMatches("vlhv1oad", false));
+        assertEquals(Set.of(), index.findMatches("xyz", false));
+    }
+
+    @Test
+    void testFindMatchesShorterThanGrams() {
+        assertEquals(Set.of("P1", "P2"), index.findMatches("p", false));
+        assertEquals(Set.of("VLHV1", "P1"), index.findMatches("1", false));
+    }
+
+    @Test
+    void testFindMatchesByName() {
+        assertEquals(Set.of("VLGEN"), index.findMatches(ContainerFilterIndex.toLowerCase("SITE"), true));
+        assertEquals(Set.of(), index.findMatches("site", false));
+        // Id used if no name
+        assertEquals(Set.of("VLLOAD"), index.findMatches("load", true));
+    }
+
+    @Test
+    void testComponentTypes() {
+        assertTrue(index.containsComponentType(network.getVoltageLevel("VLGEN"), ComponentFilterType.GENERATOR));
+        assertFalse(index.containsComponentType(network.getVoltageLevel("VLGEN"), ComponentFilterType.LOAD));
+        assertTrue(index.containsComponentType(network.getVoltageLevel("VLHV1"), ComponentFilterType.LINE));
+        assertTrue(index.containsComponentType(network.getVoltageLevel("VLLOAD"), ComponentFilterType.ALL));
+        assertFalse(index.containsComponentType(network.getVoltageLevel("VLLOAD"), ComponentFilterType.HVDC_LINE));
+        // Substations contain the component types of their voltage levels
+        assertTrue(index.containsComponentType(network.getSubstation("P1"), ComponentFilterType.GENERATOR));
+        assertFalse(index.containsComponentType(network.getSubstation("P1"), ComponentFilterType.LOAD));
+        assertTrue(index.containsComponentType(network, ComponentFilterType.LOAD));
+    }
+
+    @Test
+    void testLocatedIn() {
+        Country country = network.getSubstation("P1").getCountry().orElseThrow();
+        assertTrue(index.locatedIn(network.getVoltageLevel("VLGEN"), country));
+        assertTrue(index.locatedIn(network.getVoltageLevel("VLGEN"), null));
+        assertTrue(index.locatedIn(network, country));
+        Country otherCountry = country == Country.AD ? Country.AE : Country.AD;
+        assertFalse(index.locatedIn(network.getSubstation("P1"), otherCountry));
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.diagram.viewer.common.DiagramExporter;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagramExportToolTest {
+
+    @TempDir
+    Path tmpDir;
+
+    private Path caseFile;
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        caseFile = tmpDir.resolve("case.xiidm");
+        EurostagTutorialExample1Factory.create().write("XIIDM", new Properties(), caseFile);
+        directory = tmpDir.resolve("export");
+    }
+
+    private long countSvgFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".svg")).count();
+        }
+    }
+
+    @Test
+    void testUsage() throws IOException {
+        assertEquals(DiagramExportTool.EXIT_USAGE, DiagramExportTool.run(caseFile.toString()));
+    }
+
+    @Test
+    void testExport() throws IOException {
+        assertEquals(DiagramExportTool.EXIT_OK, DiagramExportTool.run(caseFile.toString(), directory.toString(), "sld", "VLGEN", "VLLOAD"));
+        assertEquals(2, countSvgFiles());
+    }
+
+    @Test
+    void testExportFailure() throws IOException {
+        assertEquals(DiagramExportTool.EXIT_FAILURES, DiagramExportTool.run(caseFile.toString(), directory.toString(), "nad", "VLGEN", "UNKNOWN"));
+        assertEquals(1, countSvgFiles());
+        assertTrue(Files.exists(directory.resolve(DiagramExporter.FAILURES_FILE_NAME)));
+    }
+}
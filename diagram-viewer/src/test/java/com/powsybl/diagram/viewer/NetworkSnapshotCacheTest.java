@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer;
+
+import com.powsybl.commons.extensions.AbstractExtension;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkSnapshotCacheTest {
+
+    /**
+     * Extension without serializer
+     */
+    private static final class UnserializableExtension extends AbstractExtension<Network> {
+        @Override
+        public String getName() {
+            return "unserializable";
+        }
+    }
+
+    @TempDir
+    Path tmpDir;
+
+    private NetworkSnapshotCache cache;
+    private Network network;
+    private Properties properties;
+
+    @BeforeEach
+    void setUp() {
+        cache = new NetworkSnapshotCache(tmpDir.resolve("snapshots"), 5);
+        network = EurostagTutorialExample1Factory.create();
+        properties = new Properties();
+        properties.put("matpower.import.ignore-base-voltage", "false");
+    }
+
+    @Test
+    void testCaseFile() throws IOException {
+        Path caseFile = Files.writeString(tmpDir.resolve("case.xiidm"), "case");
+        assertTrue(cache.read(caseFile, properties).isEmpty());
+
+        cache.write(caseFile, properties, network);
+        Optional<Network> snapshot = cache.read(caseFile, properties);
+        assertTrue(snapshot.isPresent());
+        assertEquals(network.getId(), snapshot.get().getId());
+        assertNotNull(snapshot.get().getGenerator("GEN"));
+
+        // Other import properties
+        Properties otherProperties = new Properties();
+        assertTrue(cache.read(caseFile, otherProperties).isEmpty());
+
+        // Case file modified
+        Files.writeString(caseFile, "modified case");
+        assertTrue(cache.read(caseFile, properties).isEmpty());
+    }
+
+    @Test
+    void testCaseFolder() throws IOException {
+        Path caseFolder = Files.createDirectory(tmpDir.resolve("cgmes"));
+        Path eqFile = Files.writeString(caseFolder.resolve("EQ.xml"), "eq");
+        Files.writeString(caseFolder.resolve("SSH.xml"), "ssh");
+        FileTime folderTime = Files.getLastModifiedTime(caseFolder);
+
+        cache.write(caseFolder, properties, network);
+        assertTrue(cache.read(caseFolder, properties).isPresent());
+
+        // A file modified in the folder does not change the folder size and modification time
+        Files.writeString(eqFile, "modified eq", StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(eqFile, FileTime.fromMillis(Files.getLastModifiedTime(eqFile).toMillis() + 1000));
+        Files.setLastModifiedTime(caseFolder, folderTime);
+        assertTrue(cache.read(caseFolder, properties).isEmpty());
+    }
+
+    @Test
+    void testCaseFolderKey() throws IOException {
+        Path caseFolder = Files.createDirectory(tmpDir.resolve("cgmes"));
+        Path eqFile = Files.writeString(caseFolder.resolve("EQ.xml"), "eq");
+        String key = NetworkSnapshotCache.createKey(caseFolder, properties);
+        assertEquals(key, NetworkSnapshotCache.createKey(caseFolder, properties));
+
+        Path tpFile = Files.writeString(caseFolder.resolve("TP.xml"), "tp");
+        String keyWithTp = NetworkSnapshotCache.createKey(caseFolder, properties);
+        assertNotEquals(key, keyWithTp);
+
+        Files.setLastModifiedTime(eqFile, FileTime.fromMillis(Files.getLastModifiedTime(eqFile).toMillis() + 1000));
+        assertNotEquals(keyWithTp, NetworkSnapshotCache.createKey(caseFolder, properties));
+
+        Files.delete(tpFile);
+        assertNotEquals(keyWithTp, NetworkSnapshotCache.createKey(caseFolder, properties));
+    }
+
+    @Test
+    void testUnserializableExtension() throws IOException {
+        Path caseFile = Files.writeString(tmpDir.resolve("case.xiidm"), "case");
+        assertEquals(Set.of(), NetworkSnapshotCache.getUnserializableExtensionNames(network));
+
+        network.addExtension(UnserializableExtension.class, new UnserializableExtension());
+        assertEquals(Set.of("unserializable"), NetworkSnapshotCache.getUnserializableExtensionNames(network));
+
+        // Written without the extension
+        cache.write(caseFile, properties, network);
+        Optional<Network> snapshot = cache.read(caseFile, properties);
+        assertTrue(snapshot.isPresent());
+        assertNull(snapshot.get().getExtension(UnserializableExtension.class));
+        assertNotNull(snapshot.get().getGenerator("GEN"));
+    }
+
+    @Test
+    void testWriteInBackground() throws IOException {
+        List<Runnable> writes = new ArrayList<>();
+        NetworkSnapshotCache backgroundCache = new NetworkSnapshotCache(tmpDir.resolve("snapshots"), 5, writes::add);
+        Path caseFile = Files.writeString(tmpDir.resolve("case.xiidm"), "case");
+
+        backgroundCache.writeInBackground(caseFile, properties, network);
+        assertTrue(backgroundCache.read(caseFile, properties).isEmpty());
+        writes.forEach(Runnable::run);
+        assertTrue(backgroundCache.read(caseFile, properties).isPresent());
+    }
+
+    @Test
+    void testModifiedBeforeWrittenInBackground() throws IOException {
+        List<Runnable> writes = new ArrayList<>();
+        NetworkSnapshotCache backgroundCache = new NetworkSnapshotCache(tmpDir.resolve("snapshots"), 5, writes::add);
+        Path caseFile = Files.writeString(tmpDir.resolve("case.xiidm"), "case");
+
+        backgroundCache.writeInBackground(caseFile, properties, network);
+        // Switch operated or load flow run once displayed: the network is not the one of the case anymore
+        network.getGenerator("GEN").setTargetP(123);
+        writes.forEach(Runnable::run);
+        assertTrue(backgroundCache.read(caseFile, properties).isEmpty());
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedTextTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testRoundTrip(boolean offHeap) {
+        String text = "<svg>" + "<g id=\"Poste \u00e9lectrique \u5317\u4eac \u26a1\"/>\n".repeat(1000) + "</svg>";
+        CompressedText compressed = CompressedText.compress(text, offHeap);
+        assertEquals(offHeap, compressed.isOffHeap());
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length, compressed.getUtf8Length());
+        assertTrue(compressed.getCompressedSize() < compressed.getUtf8Length() / 10);
+        assertEquals(text, compressed.inflate());
+        // Inflated as many times as needed
+        assertEquals(text, compressed.inflate());
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals("", CompressedText.compress(null, false).inflate());
+        assertEquals("", CompressedText.compress("", true).inflate());
+        assertEquals(0, CompressedText.compress("", false).getCompressedSize());
+    }
+}
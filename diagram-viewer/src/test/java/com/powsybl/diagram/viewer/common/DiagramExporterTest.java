@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagramExporterTest {
+
+    private static final DiagramExporter.Drawer DRAWER = (containerId, svgWriter, metadataWriter) -> {
+        svgWriter.write("<svg id=\"" + containerId + "\"/>");
+        metadataWriter.write("{}");
+    };
+
+    private static final DiagramExporter.ProgressListener NO_PROGRESS = (doneCount, totalCount, containerId) -> {
+    };
+
+    @TempDir
+    Path directory;
+
+    private DiagramExporter.Summary export(List<String> containerIds, DiagramExporter.Drawer drawer) throws IOException {
+        return new DiagramExporter(directory, 2).export(containerIds, drawer, NO_PROGRESS, () -> false);
+    }
+
+    private Path getSvgFile(String containerId) {
+        return directory.resolve(DiagramExporter.getBaseName(containerId) + ".svg");
+    }
+
+    private long countSvgFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".svg")).count();
+        }
+    }
+
+    @Test
+    void testExport() throws IOException {
+        DiagramExporter.Summary summary = export(List.of("VL1", "VL2"), DRAWER);
+        assertEquals(2, summary.exportedCount());
+        assertEquals(0, summary.skippedCount());
+        assertTrue(summary.failures().isEmpty());
+        assertFalse(summary.cancelled());
+        assertEquals("<svg id=\"VL1\"/>", Files.readString(getSvgFile("VL1")));
+        assertEquals("{}", Files.readString(directory.resolve(DiagramExporter.getBaseName("VL1") + "_metadata.json")));
+        assertFalse(Files.exists(directory.resolve(DiagramExporter.FAILURES_FILE_NAME)));
+    }
+
+    @Test
+    void testFileNamesDoNotCollide() throws IOException {
+        // Same name once the characters not allowed in file names are replaced, or on case-insensitive file systems
+        List<String> containerIds = List.of("VL 1", "VL_1", "VL/1", "vl_1");
+        assertEquals(4, containerIds.stream().map(id -> DiagramExporter.getBaseName(id).toLowerCase(Locale.ROOT)).distinct().count());
+        assertTrue(DiagramExporter.getBaseName("VL 1").startsWith("VL_1_"));
+
+        DiagramExporter.Summary summary = export(containerIds, DRAWER);
+        assertEquals(4, summary.exportedCount());
+        assertEquals(0, summary.skippedCount());
+        assertEquals(4, countSvgFiles());
+        for (String containerId : containerIds) {
+            assertEquals("<svg id=\"" + containerId + "\"/>", Files.readString(getSvgFile(containerId)));
+        }
+    }
+
+    @Test
+    void testResume() throws IOException {
+        DiagramExporter.Drawer failingDrawer = (containerId, svgWriter, metadataWriter) -> {
+            if (containerId.equals("VL2")) {
+                throw new IllegalStateException("Cannot draw " + containerId);
+            }
+            DRAWER.draw(containerId, svgWriter, metadataWriter);
+        };
+        DiagramExporter.Summary summary = export(List.of("VL1", "VL2"), failingDrawer);
+        assertEquals(1, summary.exportedCount());
+        assertEquals(List.of("VL2"), List.copyOf(summary.failures().keySet()));
+        assertFalse(Files.exists(getSvgFile("VL2")));
+        assertTrue(Files.readString(directory.resolve(DiagramExporter.FAILURES_FILE_NAME)).startsWith("VL2\t"));
+        assertEquals(1, countSvgFiles());
+        // No temporary file left
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.noneMatch(f -> f.getFileName().toString().endsWith(".tmp")));
+        }
+
+        // Only the failed diagram is exported again
+        summary = export(List.of("VL1", "VL2"), DRAWER);
+        assertEquals(1, summary.exportedCount());
+        assertEquals(1, summary.skippedCount());
+        assertTrue(summary.failures().isEmpty());
+        assertFalse(Files.exists(directory.resolve(DiagramExporter.FAILURES_FILE_NAME)));
+    }
+
+    @Test
+    void testResumeChecksContainerId() throws IOException {
+        // SVG file exported for another container, with the same file name
+        String baseName = DiagramExporter.getBaseName("VL1");
+        Files.writeString(directory.resolve(baseName + ".svg"), "<svg id=\"other\"/>");
+        Files.writeString(directory.resolve(baseName + ".id"), "other");
+
+        DiagramExporter.Summary summary = export(List.of("VL1"), DRAWER);
+        assertEquals(1, summary.exportedCount());
+        assertEquals(0, summary.skippedCount());
+        assertEquals("<svg id=\"VL1\"/>", Files.readString(getSvgFile("VL1")));
+    }
+
+    @Test
+    void testCancelled() throws IOException {
+        DiagramExporter.Summary summary = new DiagramExporter(directory, 2).export(List.of("VL1", "VL2"), DRAWER, NO_PROGRESS, () -> true);
+        assertTrue(summary.cancelled());
+        assertEquals(0, summary.exportedCount());
+        assertEquals(0, countSvgFiles());
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagramResultCacheTest {
+
+    private static DiagramResultCache.Key key(String containerId, String variantId, long modificationCount) {
+        return new DiagramResultCache.Key(containerId, List.of("parameters"), variantId, modificationCount);
+    }
+
+    private static ContainerResult result(String svg) {
+        ContainerResult result = new ContainerResult();
+        result.svgContentProperty().set(svg);
+        result.metadataContentProperty().set("{}");
+        result.jsonContentProperty().set("");
+        result.computeSvgSize();
+        return result;
+    }
+
+    @Test
+    void testInvalidation() {
+        DiagramResultCache cache = new DiagramResultCache(10, 10);
+        cache.put(key("VL1", "InitialState", 3), result("<svg width=\"10\" height=\"20\"/>"));
+
+        ContainerResult cached = cache.get(key("VL1", "InitialState", 3));
+        assertNotNull(cached);
+        assertEquals("<svg width=\"10\" height=\"20\"/>", cached.svgContentProperty().get());
+        assertEquals(10, cached.getSvgWidth());
+        assertEquals(20, cached.getSvgHeight());
+
+        // Network modified, other variant, other container or other parameters
+        assertNull(cache.get(key("VL1", "InitialState", 4)));
+        assertNull(cache.get(key("VL1", "what-if-1", 3)));
+        assertNull(cache.get(key("VL2", "InitialState", 3)));
+        assertNull(cache.get(new DiagramResultCache.Key("VL1", List.of("other parameters"), "InitialState", 3)));
+
+        cache.clear();
+        assertNull(cache.get(key("VL1", "InitialState", 3)));
+    }
+
+    @Test
+    void testReturnedResultIsACopy() {
+        DiagramResultCache cache = new DiagramResultCache(10, 10);
+        cache.put(key("VL1", "InitialState", 0), result("<svg/>"));
+        cache.get(key("VL1", "InitialState", 0)).svgContentProperty().set("modified");
+        assertEquals("<svg/>", cache.get(key("VL1", "InitialState", 0)).svgContentProperty().get());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        DiagramResultCache cache = new DiagramResultCache(2, 2);
+        cache.put(key("VL1", "InitialState", 0), result("<svg/>"));
+        cache.put(key("VL2", "InitialState", 0), result("<svg/>"));
+        // VL1 used again, hence VL2 evicted first
+        assertNotNull(cache.get(key("VL1", "InitialState", 0)));
+        cache.put(key("VL3", "InitialState", 0), result("<svg/>"));
+
+        assertNotNull(cache.get(key("VL1", "InitialState", 0)));
+        assertNull(cache.get(key("VL2", "InitialState", 0)));
+        assertNotNull(cache.get(key("VL3", "InitialState", 0)));
+    }
+
+    @Test
+    void testCompressionOnceNotRecentlyUsed() {
+        String largeSvg = "<svg>" + "<g id=\"node\"/>".repeat(DiagramResultCache.MIN_COMPRESSED_LENGTH / 10) + "</svg>";
+        DiagramResultCache cache = new DiagramResultCache(10, 1);
+
+        cache.put(key("VL1", "InitialState", 0), result(largeSvg));
+        assertEquals(1, cache.getPlainResults().size());
+        assertTrue(cache.getCompressedResults().isEmpty());
+
+        // VL1 is not the most recently used anymore, hence compressed, while the small VL2 result is never compressed
+        cache.put(key("VL2", "InitialState", 0), result("<svg/>"));
+        cache.put(key("VL3", "InitialState", 0), result("<svg/>"));
+        DiagramResultCache.CompressionStats stats = cache.getCompressionStats();
+        assertEquals(2, stats.plainCount());
+        assertEquals(1, stats.compressedCount());
+        assertEquals(largeSvg.length() + 2, stats.rawSize());
+        assertTrue(stats.compressedSize() < stats.rawSize() / 10);
+
+        assertEquals(largeSvg, cache.get(key("VL1", "InitialState", 0)).svgContentProperty().get());
+        assertEquals("<svg/>", cache.get(key("VL2", "InitialState", 0)).svgContentProperty().get());
+    }
+}
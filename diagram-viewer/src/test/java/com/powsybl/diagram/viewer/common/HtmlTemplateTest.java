@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HtmlTemplateTest {
+
+    @Test
+    void testRender() {
+        HtmlTemplate template = new HtmlTemplate("<html><script>%__JS__%</script><body>%__SVG__%</body><script>%__JS__%</script></html>",
+                "var a = 1;");
+        assertEquals("<html><script>var a = 1;</script><body><svg/></body><script>var a = 1;</script></html>",
+                template.render("<svg/>"));
+    }
+
+    @Test
+    void testSvgNotInterpreted() {
+        // Placeholders and regex replacement characters in the svg are left as they are
+        HtmlTemplate template = new HtmlTemplate("<body>%__SVG__%</body>", "");
+        String svg = "<svg><text>$1 \\ %__JS__% %__SVG__%</text></svg>";
+        assertEquals("<body>" + svg + "</body>", template.render(svg));
+    }
+
+    @Test
+    void testMissingSvgPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> new HtmlTemplate("<body></body>", ""));
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineIndexTest {
+
+    @Test
+    void testLines() {
+        LineIndex index = new LineIndex("first\r\nsecond\n\nlast", 100);
+        assertEquals(4, index.getLineCount());
+        assertEquals("first", index.getLine(0));
+        assertEquals("second", index.getLine(1));
+        assertEquals("", index.getLine(2));
+        assertEquals("last", index.getLine(3));
+    }
+
+    @Test
+    void testTrailingLineBreak() {
+        LineIndex index = new LineIndex("first\nsecond\n", 100);
+        assertEquals(2, index.getLineCount());
+        assertEquals("second", index.getLine(1));
+    }
+
+    @Test
+    void testEmptyText() {
+        assertEquals(0, new LineIndex("", 100).getLineCount());
+    }
+
+    @Test
+    void testLongLinesSplit() {
+        LineIndex index = new LineIndex("a".repeat(25) + "\nb", 10);
+        assertEquals(4, index.getLineCount());
+        assertEquals("a".repeat(10), index.getLine(0));
+        assertEquals("a".repeat(10), index.getLine(1));
+        assertEquals("a".repeat(5), index.getLine(2));
+        assertEquals("b", index.getLine(3));
+    }
+
+    @Test
+    void testLineOfOffset() {
+        String text = "first\nsecond\nlast";
+        LineIndex index = new LineIndex(text, 100);
+        assertEquals(0, index.getLineOfOffset(0));
+        assertEquals(0, index.getLineOfOffset(text.indexOf('\n')));
+        assertEquals(1, index.getLineOfOffset(text.indexOf("second")));
+        assertEquals(1, index.getLineOfOffset(text.indexOf("cond")));
+        assertEquals(2, index.getLineOfOffset(text.indexOf("last")));
+        assertEquals(2, index.getLineOfOffset(text.length() - 1));
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryFootprintTest {
+
+    @Test
+    void testStringCountedOnce() {
+        MemoryFootprint footprint = new MemoryFootprint();
+        String s = "x".repeat(1000);
+        long size = footprint.estimateStringSize(s);
+        assertTrue(size >= 1000);
+        assertEquals(0, footprint.estimateStringSize(s));
+        // Equal but not the same string
+        assertEquals(size, footprint.estimateStringSize(new String(s)));
+        assertEquals(0, footprint.estimateStringSize(null));
+    }
+
+    @Test
+    void testNonLatin1String() {
+        MemoryFootprint footprint = new MemoryFootprint();
+        long latin1Size = footprint.estimateStringSize("\u00e9".repeat(1000));
+        long utf16Size = footprint.estimateStringSize("\u20ac".repeat(1000));
+        assertEquals(1000, utf16Size - latin1Size);
+    }
+
+    @Test
+    void testSharedResultStrings() {
+        ContainerResult result = new ContainerResult();
+        result.svgContentProperty().set("<svg/>".repeat(100));
+        result.metadataContentProperty().set("{}");
+        result.jsonContentProperty().set("");
+        ContainerResult copy = new ContainerResult();
+        copy.setValue(result);
+
+        MemoryFootprint footprint = new MemoryFootprint();
+        assertTrue(footprint.estimateResultSize(result) >= 600);
+        // The copy shares the strings of the result, already counted
+        assertEquals(0, footprint.estimateResultSize(copy));
+    }
+
+    @Test
+    void testNetworkSize() {
+        Network network = EurostagTutorialExample1Factory.create();
+        long size = MemoryFootprint.estimateNetworkSize(network);
+        assertTrue(size > 0);
+        assertEquals(0, MemoryFootprint.estimateWebViewSize(0));
+
+        // Weighted by kind of identifiable
+        assertTrue(MemoryFootprint.estimateIdentifiableSize(network.getLine("NHV1_NHV2_1"))
+                > MemoryFootprint.estimateIdentifiableSize(network.getLoad("LOAD")));
+        long loadSize = MemoryFootprint.estimateIdentifiableSize(network.getLoad("LOAD"));
+        network.getLoad("LOAD").remove();
+        assertEquals(size - loadSize, MemoryFootprint.estimateNetworkSize(network));
+
+        // Variant dependent attributes are copied in each variant
+        long singleVariantSize = MemoryFootprint.estimateNetworkSize(network);
+        network.getVariantManager().cloneVariant(network.getVariantManager().getWorkingVariantId(), "what-if");
+        assertTrue(MemoryFootprint.estimateNetworkSize(network) > singleVariantSize);
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import com.powsybl.commons.extensions.AbstractExtension;
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkChangeTrackerTest {
+
+    private static final class PositionExtension<T> extends AbstractExtension<T> {
+        @Override
+        public String getName() {
+            return "position";
+        }
+    }
+
+    private Network network;
+    private NetworkChangeTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        network = EurostagTutorialExample1Factory.create();
+        tracker = new NetworkChangeTracker();
+        network.addListener(tracker);
+    }
+
+    @Test
+    void testInjectionModified() {
+        assertTrue(tracker.poll().isEmpty());
+
+        network.getGenerator("GEN").setTargetP(123);
+        NetworkChangeTracker.Changes changes = tracker.poll();
+        assertFalse(changes.all());
+        assertEquals(Set.of("VLGEN"), changes.voltageLevelIds());
+
+        // Changes are consumed by the poll
+        assertTrue(tracker.poll().isEmpty());
+    }
+
+    @Test
+    void testBranchModified() {
+        network.getLine("NHV1_NHV2_1").setR(1.0);
+        network.getTwoWindingsTransformer("NHV2_NLOAD").setX(2.0);
+        NetworkChangeTracker.Changes changes = tracker.poll();
+        assertFalse(changes.all());
+        assertEquals(Set.of("VLHV1", "VLHV2", "VLLOAD"), changes.voltageLevelIds());
+    }
+
+    @Test
+    void testCreationAndRemoval() {
+        network.getLoad("LOAD").remove();
+        NetworkChangeTracker.Changes changes = tracker.poll();
+        assertTrue(changes.all());
+        assertFalse(changes.isEmpty());
+        assertTrue(changes.affects(network.getVoltageLevel("VLGEN")));
+
+        network.getVoltageLevel("VLLOAD").newLoad()
+                .setId("NEW_LOAD")
+                .setBus("NLOAD")
+                .setP0(10)
+                .setQ0(0)
+                .add();
+        assertTrue(tracker.poll().all());
+    }
+
+    @Test
+    void testPropertyAdded() {
+        network.getGenerator("GEN").setProperty("label", "Generator");
+        assertEquals(Set.of("VLGEN"), tracker.poll().voltageLevelIds());
+    }
+
+    @Test
+    void testPropertyReplaced() {
+        network.getGenerator("GEN").setProperty("label", "Generator");
+        tracker.poll();
+        network.getGenerator("GEN").setProperty("label", "Main generator");
+        assertEquals(Set.of("VLGEN"), tracker.poll().voltageLevelIds());
+    }
+
+    @Test
+    void testPropertyRemoved() {
+        network.getLine("NHV1_NHV2_1").setProperty("label", "Line");
+        tracker.poll();
+        network.getLine("NHV1_NHV2_1").removeProperty("label");
+        assertEquals(Set.of("VLHV1", "VLHV2"), tracker.poll().voltageLevelIds());
+    }
+
+    @Test
+    void testNetworkPropertyAdded() {
+        network.setProperty("label", "Network");
+        assertTrue(tracker.poll().all());
+    }
+
+    @Test
+    void testExtensionCreated() {
+        Generator generator = network.getGenerator("GEN");
+        PositionExtension<Generator> extension = new PositionExtension<>();
+        generator.addExtension(PositionExtension.class, extension);
+        tracker.poll();
+
+        tracker.onExtensionCreation(extension);
+        NetworkChangeTracker.Changes changes = tracker.poll();
+        assertFalse(changes.all());
+        assertEquals(Set.of("VLGEN"), changes.voltageLevelIds());
+    }
+
+    @Test
+    void testExtensionRemoved() {
+        tracker.onExtensionAfterRemoval(network.getLoad("LOAD"), "position");
+        assertEquals(Set.of("VLLOAD"), tracker.poll().voltageLevelIds());
+    }
+
+    @Test
+    void testExtensionUpdated() {
+        Generator generator = network.getGenerator("GEN");
+        PositionExtension<Generator> extension = new PositionExtension<>();
+        generator.addExtension(PositionExtension.class, extension);
+        tracker.poll();
+
+        tracker.onExtensionUpdate(extension, "x", null, 1, 2);
+        NetworkChangeTracker.Changes changes = tracker.poll();
+        assertFalse(changes.all());
+        assertEquals(Set.of("VLGEN"), changes.voltageLevelIds());
+
+        // Extension of the network itself
+        PositionExtension<Network> networkExtension = new PositionExtension<>();
+        network.addExtension(PositionExtension.class, networkExtension);
+        tracker.poll();
+        tracker.onExtensionUpdate(networkExtension, "x", null, 1, 2);
+        assertTrue(tracker.poll().all());
+    }
+
+    @Test
+    void testAffectedContainers() {
+        network.getGenerator("GEN").setTargetP(123);
+        NetworkChangeTracker.Changes changes = tracker.poll();
+
+        assertTrue(changes.affects(network.getVoltageLevel("VLGEN")));
+        assertFalse(changes.affects(network.getVoltageLevel("VLHV1")));
+        // Substation diagrams show all their voltage levels
+        assertTrue(changes.affects(network.getSubstation("P1")));
+        assertFalse(changes.affects(network.getSubstation("P2")));
+        assertTrue(changes.affects(network));
+
+        // Network area diagrams show the voltage levels accepted by their filter
+        assertTrue(changes.affects(network, v -> v.getId().startsWith("VLGEN")));
+        assertFalse(changes.affects(network, v -> v.getId().startsWith("VLHV")));
+    }
+}
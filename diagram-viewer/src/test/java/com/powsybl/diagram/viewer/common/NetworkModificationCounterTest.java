@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ * SPDX-License-Identifier: MPL-2.0
+ */
+package com.powsybl.diagram.viewer.common;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManagerConstants;
+import com.powsybl.iidm.network.test.EurostagTutorialExample1Factory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkModificationCounterTest {
+
+    private static final String INITIAL = VariantManagerConstants.INITIAL_VARIANT_ID;
+    private static final String WHAT_IF = "what-if";
+
+    private Network network;
+    private NetworkModificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        network = EurostagTutorialExample1Factory.create();
+        counter = new NetworkModificationCounter();
+        network.addListener(counter);
+    }
+
+    @Test
+    void testUpdate() {
+        long count = counter.get(INITIAL);
+        network.getGenerator("GEN").setTargetP(123);
+        assertTrue(counter.get(INITIAL) > count);
+    }
+
+    @Test
+    void testNoModification() {
+        long count = counter.get(INITIAL);
+        network.getGenerator("GEN").getTargetP();
+        assertEquals(count, counter.get(INITIAL));
+    }
+
+    @Test
+    void testVariantModifications() {
+        network.getVariantManager().cloneVariant(INITIAL, WHAT_IF);
+        long initialCount = counter.get(INITIAL);
+        long whatIfCount = counter.get(WHAT_IF);
+
+        network.getVariantManager().setWorkingVariant(WHAT_IF);
+        network.getGenerator("GEN").setTargetP(123);
+
+        // Only the modified variant is out of date
+        assertEquals(initialCount, counter.get(INITIAL));
+        assertTrue(counter.get(WHAT_IF) > whatIfCount);
+    }
+
+    @Test
+    void testModificationsOfAllVariants() {
+        network.getVariantManager().cloneVariant(INITIAL, WHAT_IF);
+        long initialCount = counter.get(INITIAL);
+        long whatIfCount = counter.get(WHAT_IF);
+
+        network.getLoad("LOAD").remove();
+
+        assertTrue(counter.get(INITIAL) > initialCount);
+        assertTrue(counter.get(WHAT_IF) > whatIfCount);
+    }
+
+    @Test
+    void testVariantCreatedAgain() {
+        network.getVariantManager().cloneVariant(INITIAL, WHAT_IF);
+        long whatIfCount = counter.get(WHAT_IF);
+
+        // Same id, but not the same variant: its diagrams must not be found in cache
+        network.getVariantManager().removeVariant(WHAT_IF);
+        network.getVariantManager().cloneVariant(INITIAL, WHAT_IF);
+        assertTrue(counter.get(WHAT_IF) > whatIfCount);
+    }
+}